@@ -0,0 +1,191 @@
+package com.github.games647.scoreboardstats;
+
+import com.github.games647.scoreboardstats.config.Settings;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Tracks the last action of every player. Players without any action for a while are idle and will be refreshed
+ * in a slower rate.
+ *
+ * @see RefreshTask
+ */
+public class ActivityTracker implements Listener {
+
+    /**
+     * Refresh tier of active players
+     */
+    public static final int ACTIVE_TIER = 0;
+
+    /**
+     * Refresh tier of idle players
+     */
+    public static final int IDLE_TIER = 1;
+
+    private final ScoreboardStats plugin;
+
+    //indexed by the slot of the player - 0 means unknown; changed only while holding the lock of this tracker
+    private volatile long[] lastActivity = new long[16];
+
+    /**
+     * Creates a new activity tracker
+     *
+     * @param plugin ScoreboardStats plugin
+     */
+    public ActivityTracker(ScoreboardStats plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Get the refresh tier of the player
+     *
+     * @param player the player
+     * @return {@link #IDLE_TIER} if the player is idle or {@link #ACTIVE_TIER}
+     */
+    public int getTier(Player player) {
+        return isIdle(player) ? IDLE_TIER : ACTIVE_TIER;
+    }
+
+    /**
+     * Checks if the player did nothing for the configured idle time.
+     *
+     * @param player the player
+     * @return true if the player is idle
+     */
+    public boolean isIdle(Player player) {
+        return isIdle(plugin.getPlayerRegistry().getSlot(player));
+    }
+
+    /**
+     * @param slot the slot of the player
+     * @return true if the player is idle
+     * @see #isIdle(Player)
+     */
+    public boolean isIdle(int slot) {
+        long lastAction = getLastAction(slot);
+        return lastAction != 0 && isIdle(lastAction);
+    }
+
+    /**
+     * Get the seconds since the last action of the player
+     *
+     * @param player the player
+     * @return the seconds since the last action
+     */
+    public int getIdleSeconds(Player player) {
+        long lastAction = getLastAction(player);
+        if (lastAction == 0) {
+            return 0;
+        }
+
+        return (int) TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - lastAction);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent joinEvent) {
+        setLastAction(plugin.getPlayerRegistry().getSlot(joinEvent.getPlayer()), System.currentTimeMillis());
+    }
+
+    //before the player registry frees the slot on monitor priority
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onQuit(PlayerQuitEvent quitEvent) {
+        setLastAction(plugin.getPlayerRegistry().getSlot(quitEvent.getPlayer()), 0);
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onMove(PlayerMoveEvent moveEvent) {
+        Location from = moveEvent.getFrom();
+        Location to = moveEvent.getTo();
+        //AFK pools push the players around, but they won't look around
+        if (from.getYaw() != to.getYaw() || from.getPitch() != to.getPitch()
+                || from.getBlockX() != to.getBlockX() || from.getBlockZ() != to.getBlockZ()) {
+            markActive(moveEvent.getPlayer());
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent interactEvent) {
+        markActive(interactEvent.getPlayer());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onCommand(PlayerCommandPreprocessEvent commandEvent) {
+        markActive(commandEvent.getPlayer());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onChat(AsyncPlayerChatEvent chatEvent) {
+        Player player = chatEvent.getPlayer();
+        plugin.getScheduler().runForPlayer(player, () -> markActive(player));
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onDamage(EntityDamageByEntityEvent damageEvent) {
+        Entity damager = damageEvent.getDamager();
+        if (damager instanceof Player) {
+            markActive((Player) damager);
+        }
+    }
+
+    /**
+     * Marks the player as active and returns him to the fast refresh tier.
+     *
+     * @param player the player
+     */
+    public void markActive(Player player) {
+        int slot = plugin.getPlayerRegistry().getSlot(player);
+        long lastAction = getLastAction(slot);
+        setLastAction(slot, System.currentTimeMillis());
+        if (lastAction != 0 && isIdle(lastAction) && player.isOnline()) {
+            //back to the fast tier
+            plugin.getRefreshTask().wakeUp(player);
+        }
+    }
+
+    private long getLastAction(Player player) {
+        return getLastAction(plugin.getPlayerRegistry().getSlot(player));
+    }
+
+    private long getLastAction(int slot) {
+        long[] current = lastActivity;
+        if (slot == -1 || slot >= current.length) {
+            return 0;
+        }
+
+        return current[slot];
+    }
+
+    private void setLastAction(int slot, long lastAction) {
+        if (slot == -1) {
+            return;
+        }
+
+        //writes to the old array would be lost if another thread grows it at the same time
+        synchronized (this) {
+            if (slot >= lastActivity.length) {
+                lastActivity = Arrays.copyOf(lastActivity, Math.max(slot + 1, lastActivity.length * 2));
+            }
+
+            lastActivity[slot] = lastAction;
+        }
+    }
+
+    private boolean isIdle(long lastAction) {
+        int idleAfter = Settings.getIdleAfter();
+        return idleAfter > 0 && System.currentTimeMillis() - lastAction >= TimeUnit.SECONDS.toMillis(idleAfter);
+    }
+}
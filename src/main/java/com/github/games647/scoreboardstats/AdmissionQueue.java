@@ -0,0 +1,113 @@
+package com.github.games647.scoreboardstats;
+
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.pvpstats.Database;
+import com.google.common.collect.Sets;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Limits how many first scoreboard creations and stats loads start per tick. On a lot of joins at the same time
+ * (for example after a restart) the players receive a placeholder scoreboard until it's their turn.
+ */
+public class AdmissionQueue implements Runnable {
+
+    private final ScoreboardStats plugin;
+
+    //keeps the join order
+    private final Set<Player> renders = Sets.newLinkedHashSet();
+    private final Set<Player> statsLoads = Sets.newLinkedHashSet();
+
+    /**
+     * Initialize the admission queue
+     *
+     * @param plugin ScoreboardStats instance
+     */
+    public AdmissionQueue(ScoreboardStats plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public synchronized void run() {
+        int rate = Settings.getAdmissionRate();
+        if (rate <= 0) {
+            rate = Integer.MAX_VALUE;
+        }
+
+        int remaining = rate;
+        for (Iterator<Player> iterator = renders.iterator(); remaining > 0 && iterator.hasNext(); remaining--) {
+            Player player = iterator.next();
+            iterator.remove();
+            render(player);
+        }
+
+        remaining = rate;
+        for (Iterator<Player> iterator = statsLoads.iterator(); remaining > 0 && iterator.hasNext(); remaining--) {
+            Player player = iterator.next();
+            iterator.remove();
+            loadStats(player);
+        }
+    }
+
+    /**
+     * Queues the first scoreboard creation of the player. The player will see a placeholder until then.
+     *
+     * @param player the joined player
+     */
+    public synchronized void admit(Player player) {
+        if (Settings.getAdmissionRate() <= 0) {
+            //the scoreboard will be created on the first update
+            plugin.getRefreshTask().addToQueue(player);
+        } else if (renders.add(player)) {
+            plugin.getScoreboardManager().createPlaceholder(player);
+        }
+    }
+
+    /**
+     * Queues the loading of the pvp stats of the player.
+     *
+     * @param player the joined player
+     */
+    public synchronized void admitStats(Player player) {
+        if (Settings.getAdmissionRate() <= 0) {
+            loadStats(player);
+        } else {
+            statsLoads.add(player);
+        }
+    }
+
+    /**
+     * Removes the player from all waiting queues.
+     *
+     * @param player the player who left
+     */
+    public synchronized void remove(Player player) {
+        renders.remove(player);
+        statsLoads.remove(player);
+    }
+
+    /**
+     * Get the number of players that are waiting for their scoreboard
+     *
+     * @return the number of waiting players
+     */
+    public synchronized int getWaiting() {
+        return renders.size();
+    }
+
+    private void render(Player player) {
+        if (player.isOnline() && plugin.getRefreshTask().addToQueue(player)) {
+            plugin.getScheduler().runForPlayer(player, () -> plugin.getScoreboardManager().createScoreboard(player));
+        }
+    }
+
+    private void loadStats(Player player) {
+        Database database = plugin.getStatsDatabase();
+        if (player.isOnline() && database != null) {
+            database.loadAccountAsync(player);
+        }
+    }
+}
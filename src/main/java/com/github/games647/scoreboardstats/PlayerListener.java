@@ -30,14 +30,15 @@ public class PlayerListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent joinEvent) {
         Player player = joinEvent.getPlayer();
         if (Settings.isActiveWorld(player.getWorld().getName())) {
-            //add it to the refresh queue
-            plugin.getRefreshTask().addToQueue(joinEvent.getPlayer());
+            //add it to the refresh queue after the admission
+            plugin.getAdmissionQueue().admit(player);
         }
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerQuit(PlayerQuitEvent quitEvent) {
         Player player = quitEvent.getPlayer();
+        plugin.getAdmissionQueue().remove(player);
         plugin.getRefreshTask().remove(player);
         plugin.getScoreboardManager().unregister(player);
     }
@@ -0,0 +1,152 @@
+package com.github.games647.scoreboardstats;
+
+import com.google.common.collect.Maps;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Gives every online player a dense slot number. Slots of players who left are reused by the next joining players,
+ * so per player state can be saved in arrays indexed by the slot instead of maps.
+ *
+ * It also keeps a snapshot of all online players, which can be iterated without copying the online players on
+ * every call.
+ *
+ * The slot is saved in the session of the player, so the refresh task can pass it down without looking it up.
+ */
+public class PlayerRegistry implements Listener {
+
+    private static final Player[] EMPTY = new Player[0];
+
+    //lookups are lock free, modifications are synchronized
+    private final Map<UUID, PlayerSession> sessions = Maps.newConcurrentMap();
+
+    private Player[] playersBySlot = new Player[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextSlot;
+
+    private volatile Player[] snapshot = EMPTY;
+
+    /**
+     * Registers the player if he isn't already registered.
+     *
+     * @param player the online player
+     * @return the slot of the player or -1 if he isn't online anymore
+     */
+    public synchronized int register(Player player) {
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session != null) {
+            return session.getSlot();
+        }
+
+        if (!player.isOnline()) {
+            return -1;
+        }
+
+        int newSlot;
+        if (freeCount > 0) {
+            freeCount--;
+            newSlot = freeSlots[freeCount];
+        } else {
+            newSlot = nextSlot++;
+            if (newSlot >= playersBySlot.length) {
+                playersBySlot = Arrays.copyOf(playersBySlot, playersBySlot.length * 2);
+            }
+        }
+
+        sessions.put(player.getUniqueId(), new PlayerSession(player, newSlot));
+        playersBySlot[newSlot] = player;
+        updateSnapshot();
+        return newSlot;
+    }
+
+    /**
+     * Frees the slot of the player.
+     *
+     * @param player the player who left
+     * @return the old slot of the player or -1 if he wasn't registered
+     */
+    public synchronized int unregister(Player player) {
+        PlayerSession session = sessions.remove(player.getUniqueId());
+        if (session == null) {
+            return -1;
+        }
+
+        int slot = session.getSlot();
+        playersBySlot[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+
+        freeSlots[freeCount++] = slot;
+        updateSnapshot();
+        return slot;
+    }
+
+    /**
+     * Get the slot of the player.
+     *
+     * @param player the player
+     * @return the slot of the player or -1 if he isn't registered
+     */
+    public int getSlot(Player player) {
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session == null) {
+            return -1;
+        }
+
+        return session.getSlot();
+    }
+
+    /**
+     * Get the session of the player.
+     *
+     * @param player the player
+     * @return the session of the player or null if he isn't registered
+     */
+    public PlayerSession getSession(Player player) {
+        return sessions.get(player.getUniqueId());
+    }
+
+    /**
+     * Get all online players. The returned array must not be modified.
+     *
+     * @return the snapshot of all online players
+     */
+    public Player[] getOnlinePlayers() {
+        return snapshot;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent joinEvent) {
+        register(joinEvent.getPlayer());
+    }
+
+    //after all other listeners, so they can still find the slot
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent quitEvent) {
+        unregister(quitEvent.getPlayer());
+    }
+
+    private void updateSnapshot() {
+        Player[] newSnapshot = new Player[sessions.size()];
+        int index = 0;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            Player player = playersBySlot[slot];
+            if (player != null) {
+                newSnapshot[index++] = player;
+            }
+        }
+
+        snapshot = newSnapshot;
+    }
+}
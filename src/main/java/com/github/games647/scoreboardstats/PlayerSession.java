@@ -0,0 +1,38 @@
+package com.github.games647.scoreboardstats;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Represents the time a player is online. The slot of the player is saved here, so it doesn't have to be looked up
+ * on every refresh. A player who joins again gets a new session.
+ *
+ * @see PlayerRegistry
+ */
+public class PlayerSession {
+
+    private final Player player;
+    private final int slot;
+
+    PlayerSession(Player player, int slot) {
+        this.player = player;
+        this.slot = slot;
+    }
+
+    /**
+     * Get the player of this session
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Get the slot of the player. It's valid until the player leaves.
+     *
+     * @return the slot of the player
+     */
+    public int getSlot() {
+        return slot;
+    }
+}
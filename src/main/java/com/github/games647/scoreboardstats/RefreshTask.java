@@ -1,28 +1,59 @@
 package com.github.games647.scoreboardstats;
 
 import com.github.games647.scoreboardstats.config.Settings;
-import com.google.common.collect.Maps;
+import com.github.games647.scoreboardstats.scheduler.PluginScheduler;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang.mutable.MutableInt;
 import org.bukkit.entity.Player;
 
 /**
  * Handling all updates for a player in a performance optimized variant. This
  * class split the updates over the ticks much smoother.
  *
+ * The players are scheduled in a timing wheel, so every tick only the players that are due in this tick will be
+ * visited.
+ *
+ * If a tick budget is configured the updates stop as soon as the time of the current tick is used up. Players that
+ * were skipped too often will be updated anyway.
+ *
+ * Players who cannot see the main scoreboard, because another sidebar is showing, are parked and not scheduled
+ * until the sidebar slot is free again. Idle players are refreshed in a slower interval.
+ *
+ * The queue is shared between the threads on regionized servers, but the updates themselves run on the thread that
+ * owns the player.
+ *
+ * The sessions of the players are scheduled, so the slot of a player is passed down to the update instead of
+ * looking it up for every line.
+ *
  * @see SbManager
  * @see com.github.games647.scoreboardstats.variables.ReplaceManager
  */
 public class RefreshTask implements Runnable {
 
+    //ticks a player can be skipped until he will be updated regardless of the budget
+    private static final int MAX_STALENESS = 20;
+
+    //ticks between the checks if a parked player can see the main scoreboard again
+    private static final int PARKED_CHECK_TICKS = 5 * 20;
+
     private final ScoreboardStats plugin;
 
     //Prevent duplicate entries and is faster than the delay queue
-    private final Map<Player, MutableInt> queue = Maps.newHashMapWithExpectedSize(100);
+    private TimingWheel<PlayerSession> queue = createQueue();
+    private final Set<PlayerSession> parked = Sets.newHashSet();
+
+    private TickBudget budget = createBudget();
+
+    //players of this tick - shared with the batch replacers
+    private PlayerSession[] due = new PlayerSession[0];
 
     private int nextGlobalUpdate = 20 * Settings.getInterval();
+    private int nextParkedCheck = PARKED_CHECK_TICKS;
 
     /**
      * Initialize refresh task
@@ -34,22 +65,18 @@ public class RefreshTask implements Runnable {
     }
 
     @Override
-    public void run() {
-        //let the players update smoother
-        int remainingUpdates = getNextUpdates();
-        for (Map.Entry<Player, MutableInt> entry : queue.entrySet()) {
-            Player player = entry.getKey();
-            MutableInt remainingTicks = entry.getValue();
-            if (remainingTicks.intValue() == 0) {
-                if (remainingUpdates != 0) {
-                    //Smoother refreshing; limit the updates
-                    plugin.getScoreboardManager().onUpdate(player);
-                    remainingTicks.setValue(20 * Settings.getInterval());
-                    remainingUpdates--;
-                }
-            } else {
-                remainingTicks.decrement();
-            }
+    public synchronized void run() {
+        queue.advance();
+
+        //apply the results of thread-safe replacers in one step
+        plugin.getReplaceManager().commitAsync();
+        //all events since the last tick cause one update per player and variable
+        plugin.getReplaceManager().flushEvents();
+
+        if (budget == null) {
+            updateLimited();
+        } else {
+            updateBudgeted();
         }
 
         nextGlobalUpdate--;
@@ -58,6 +85,15 @@ public class RefreshTask implements Runnable {
             //update globals
             plugin.getReplaceManager().updateGlobals();
         }
+
+        nextParkedCheck--;
+        if (nextParkedCheck == 0) {
+            nextParkedCheck = PARKED_CHECK_TICKS;
+            //the bukkit api doesn't notify us if another plugin removes its sidebar
+            checkParked();
+        }
+
+        plugin.getReplaceManager().flushAsync();
     }
 
     /**
@@ -66,14 +102,73 @@ public class RefreshTask implements Runnable {
      * @param request the player that should be added.
      * @return true if it was successfully queued
      */
-    public boolean addToQueue(Player request) {
-        boolean alreadyQueued = queue.containsKey(request);
-        if (!alreadyQueued) {
-            //check if it isn't already in the queue
-            queue.put(request, new MutableInt(20 * Settings.getInterval()));
+    public synchronized boolean addToQueue(Player request) {
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        //check if it isn't already in the queue
+        return session != null && !parked.contains(session) && queue.add(session, getUpdateTicks());
+    }
+
+    /**
+     * Stops the updates for the player, because he cannot see the main scoreboard.
+     *
+     * @param request the player that should be parked
+     * @return true if the player was in the queue
+     */
+    public synchronized boolean park(Player request) {
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        return session != null && park(session);
+    }
+
+    private synchronized boolean park(PlayerSession session) {
+        if (queue.remove(session)) {
+            parked.add(session);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Schedules a parked player immediately again, because the main scoreboard could be visible again.
+     *
+     * @param request the player that should be resumed
+     * @return true if the player was parked
+     */
+    public synchronized boolean resume(Player request) {
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        return session != null && resume(session);
+    }
+
+    private synchronized boolean resume(PlayerSession session) {
+        if (parked.remove(session)) {
+            //update in the next tick
+            queue.add(session, 1);
+            return true;
         }
 
-        return !alreadyQueued;
+        return false;
+    }
+
+    /**
+     * Schedules the player for the next tick, because he is active again.
+     *
+     * @param request the player
+     * @return true if the player is in the queue
+     */
+    public synchronized boolean wakeUp(Player request) {
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        return session != null && queue.requeue(session, 1);
+    }
+
+    /**
+     * Checks if the player is parked.
+     *
+     * @param request player instance
+     * @return true if the player is parked
+     */
+    public synchronized boolean isParked(Player request) {
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        return session != null && parked.contains(session);
     }
 
     /**
@@ -82,8 +177,9 @@ public class RefreshTask implements Runnable {
      * @param request player instance
      * @return true if the player is in the refresh queue.
      */
-    public boolean contains(Player request) {
-        return queue.containsKey(request);
+    public synchronized boolean contains(Player request) {
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        return session != null && (queue.contains(session) || parked.contains(session));
     }
 
     /**
@@ -92,15 +188,139 @@ public class RefreshTask implements Runnable {
      * @param request player who should be removed
      * @return if the last entry exists
      */
-    public boolean remove(Player request) {
-        return queue.remove(request) != null;
+    public synchronized boolean remove(Player request) {
+        //called before the registry frees the slot
+        PlayerSession session = plugin.getPlayerRegistry().getSession(request);
+        return session != null && (queue.remove(session) | parked.remove(session));
     }
 
     /**
      * Clears the complete queue.
      */
-    public void clear() {
-        queue.clear();
+    public synchronized void clear() {
+        //the update interval could be changed by a reload
+        queue = createQueue();
+        parked.clear();
+        budget = createBudget();
+    }
+
+    /**
+     * Get the time budget that is currently used for a single tick.
+     *
+     * @return the budget in nano seconds or -1 if the updates aren't limited by time
+     */
+    public synchronized long getCurrentBudget() {
+        if (budget == null) {
+            return -1;
+        }
+
+        return budget.getBudget();
+    }
+
+    private void updateLimited() {
+        //let the players update smoother
+        int remainingUpdates = getNextUpdates();
+        prefetch(remainingUpdates);
+
+        PlayerSession session;
+        //Smoother refreshing; limit the updates - the left ones will be the first ones in the next tick
+        while (remainingUpdates > 0 && (session = queue.poll()) != null) {
+            update(session);
+            remainingUpdates--;
+        }
+    }
+
+    private void updateBudgeted() {
+        long start = System.nanoTime();
+        long deadline = start + budget.nextBudget(start, TicksPerSecondTask.getLastTicks());
+        //the budget decides later how many of them are refreshed in this tick
+        prefetch(queue.size());
+
+        PlayerSession session;
+        while ((session = queue.poll()) != null) {
+            update(session);
+
+            //the left ones will be the first ones in the next tick - only stop if they aren't waiting too long
+            if (System.nanoTime() - deadline >= 0 && queue.getStaleness() < MAX_STALENESS) {
+                break;
+            }
+        }
+    }
+
+    private void prefetch(int maxPlayers) {
+        int limit = Math.min(maxPlayers, queue.size());
+        if (due.length < limit) {
+            due = new PlayerSession[Math.max(limit, due.length * 2)];
+        }
+
+        int length = queue.peek(due);
+        plugin.getReplaceManager().prefetch(due, Math.min(length, limit));
+        //don't keep the players alive
+        Arrays.fill(due, 0, length, null);
+    }
+
+    private void update(PlayerSession session) {
+        if (plugin.getActivityTracker().isIdle(session.getSlot())) {
+            queue.requeue(session, getIdleTicks());
+        } else {
+            queue.requeue(session, getUpdateTicks());
+        }
+
+        PluginScheduler scheduler = plugin.getScheduler();
+        Player player = session.getPlayer();
+        if (scheduler.isOwner(player)) {
+            refresh(session);
+        } else {
+            scheduler.runForPlayer(player, () -> refresh(session));
+        }
+    }
+
+    private void refresh(PlayerSession session) {
+        SbManager scoreboardManager = plugin.getScoreboardManager();
+        Player player = session.getPlayer();
+        if (!scoreboardManager.canShowScoreboard(player, session.getSlot())) {
+            //another sidebar is showing - don't waste updates
+            park(session);
+            return;
+        }
+
+        scoreboardManager.onUpdate(player, session.getSlot());
+    }
+
+    private void checkParked() {
+        SbManager scoreboardManager = plugin.getScoreboardManager();
+        //copy it, because resume modifies the set
+        for (PlayerSession session : ImmutableList.copyOf(parked)) {
+            Player player = session.getPlayer();
+            plugin.getScheduler().runForPlayer(player, () -> {
+                if (scoreboardManager.canShowScoreboard(player)) {
+                    resume(session);
+                }
+            });
+        }
+    }
+
+    private static TickBudget createBudget() {
+        double millis = Settings.getTickBudget();
+        if (millis <= 0) {
+            return null;
+        }
+
+        return new TickBudget((long) (millis * TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    private static TimingWheel<PlayerSession> createQueue() {
+        //idle players are scheduled with the longest delay
+        return new TimingWheel<>(Math.max(getUpdateTicks(), getIdleTicks()));
+    }
+
+    private static int getIdleTicks() {
+        return Math.max(1, 20 * Settings.getIdleInterval());
+    }
+
+    private static int getUpdateTicks() {
+        //a wheel needs at least one tick
+        return Math.max(1, 20 * Settings.getInterval());
     }
 
     private int getNextUpdates() {
@@ -1,10 +1,14 @@
 package com.github.games647.scoreboardstats;
 
 import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.SidebarConfig;
+import com.github.games647.scoreboardstats.config.TextTemplate;
+import com.github.games647.scoreboardstats.config.VariableItem;
 import com.github.games647.scoreboardstats.scoreboard.DelayedShowTask;
+import com.github.games647.scoreboardstats.scoreboard.ScoreCache;
+import com.github.games647.scoreboardstats.variables.RenderedText;
 import com.github.games647.scoreboardstats.variables.ReplaceManager;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 /**
@@ -14,11 +18,13 @@ public abstract class SbManager {
 
     protected static final String SB_NAME = "Stats";
     protected static final String TEMP_SB_NAME = SB_NAME + 'T';
+    protected static final String LOADING_SB_NAME = SB_NAME + 'L';
 
     private static final int MAX_ITEM_LENGTH = 16;
 
     protected final ScoreboardStats plugin;
     protected final ReplaceManager replaceManager;
+    protected final ScoreCache scoreCache = new ScoreCache();
 
     private final String permission;
 
@@ -43,6 +49,15 @@ public abstract class SbManager {
         return replaceManager;
     }
 
+    /**
+     * Get the cache of the last sent scores.
+     *
+     * @return the score cache
+     */
+    public ScoreCache getScoreCache() {
+        return scoreCache;
+    }
+
     /**
      * Creates a new scoreboard based on the configuration.
      *
@@ -52,7 +67,39 @@ public abstract class SbManager {
 
     public abstract void createTopListScoreboard(Player player);
 
-    public abstract void onUpdate(Player player);
+    /**
+     * Shows a minimal scoreboard until the real scoreboard is created.
+     *
+     * @param player for who should the scoreboard be set.
+     */
+    public abstract void createPlaceholder(Player player);
+
+    /**
+     * Refreshes the main scoreboard of this player or creates it if the player doesn't have one yet.
+     *
+     * @param player the player
+     * @param slot the slot of the player
+     */
+    public abstract void onUpdate(Player player, int slot);
+
+    /**
+     * Checks if the main scoreboard could be visible for this player. This means the sidebar slot is free or it's
+     * already our main scoreboard.
+     *
+     * @param player the player
+     * @return false if another sidebar is showing
+     */
+    public abstract boolean canShowScoreboard(Player player);
+
+    /**
+     * @param player the player
+     * @param slot the slot of the player
+     * @return false if another sidebar is showing
+     * @see #canShowScoreboard(Player)
+     */
+    public boolean canShowScoreboard(Player player, int slot) {
+        return canShowScoreboard(player);
+    }
 
     public abstract void update(Player player, String variable, int newScore);
 
@@ -62,7 +109,7 @@ public abstract class SbManager {
     public void registerAll() {
         boolean ispvpstats = Settings.isPvpStats();
         //maybe batch this
-        BackwardsCompatibleUtil.getOnlinePlayers().stream().filter(Player::isOnline).forEach(player -> {
+        for (Player player : plugin.getPlayerRegistry().getOnlinePlayers()) {
             if (ispvpstats) {
                 //maybe batch this
                 player.removeMetadata("player_stats", plugin);
@@ -70,14 +117,16 @@ public abstract class SbManager {
             }
 
             plugin.getRefreshTask().addToQueue(player);
-        });
+        }
     }
 
     /**
      * Clear the scoreboard for all players
      */
     public void unregisterAll() {
-        BackwardsCompatibleUtil.getOnlinePlayers().forEach(this::unregister);
+        for (Player player : plugin.getPlayerRegistry().getOnlinePlayers()) {
+            unregister(player);
+        }
     }
 
     /**
@@ -91,8 +140,117 @@ public abstract class SbManager {
      * Called if the scoreboard should be updated.
      *
      * @param player for who should the scoreboard be set.
+     * @param slot the slot of the player
+     */
+    protected abstract void sendUpdate(Player player, int slot);
+
+    /**
+     * Replaces a line of the main scoreboard, because its text changed.
+     *
+     * @param player the player
+     * @param oldText the text of the old line or null if there is no old line
+     * @param newText the text of the new line
+     * @param score the score of the line
+     */
+    protected abstract void replaceLine(Player player, String oldText, String newText, int score);
+
+    /**
+     * Sends the text of an item with variables inside the text. The old line is replaced if the text changed.
+     *
+     * @param player the player
+     * @param variableItem the scoreboard item with a template
+     */
+    protected void sendText(Player player, VariableItem variableItem) {
+        sendText(player, plugin.getPlayerRegistry().getSlot(player), variableItem);
+    }
+
+    /**
+     * @param player the player
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item with a template
+     * @see #sendText(Player, VariableItem)
      */
-    protected abstract void sendUpdate(Player player);
+    protected void sendText(Player player, int slot, VariableItem variableItem) {
+        RenderedText rendered = replaceManager.renderText(player, slot, variableItem);
+        String text = rendered.getText();
+        String sentText = rendered.getSentText();
+        //the same instance is returned if nothing changed
+        if (text != sentText) {
+            rendered.setSentText(text);
+            replaceLine(player, sentText, text, variableItem.getScore());
+        }
+    }
+
+    /**
+     * Get the title for the main scoreboard of this player.
+     *
+     * @param player the player
+     * @param complete whether the objective is created
+     * @return the title or null if the player already received it
+     */
+    protected String renderTitle(Player player, boolean complete) {
+        return renderTitle(player, plugin.getPlayerRegistry().getSlot(player), complete);
+    }
+
+    /**
+     * @param player the player
+     * @param slot the slot of the player
+     * @param complete whether the objective is created
+     * @return the title or null if the player already received it
+     * @see #renderTitle(Player, boolean)
+     */
+    protected String renderTitle(Player player, int slot, boolean complete) {
+        SidebarConfig sidebarConfig = Settings.getMainScoreboard();
+        TextTemplate template = sidebarConfig.getTitleTemplate();
+        if (!template.hasVariables()) {
+            return complete ? sidebarConfig.getTitle() : null;
+        }
+
+        RenderedText rendered = replaceManager.renderTitle(player, slot, template);
+        String text = rendered.getText();
+        if (complete || text != rendered.getSentText()) {
+            rendered.setSentText(text);
+            return text;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if the score of this line differs from the one the player received last.
+     *
+     * @param player the player
+     * @param title the display text of the line
+     * @param score the new score
+     * @return true if the score should be sent
+     */
+    protected boolean isChanged(Player player, String title, int score) {
+        VariableItem item = Settings.getMainScoreboard().getItemsByName().get(title);
+        int line = item == null ? -1 : item.getIndex();
+        return scoreCache.isChanged(plugin.getPlayerRegistry().getSlot(player), line, score);
+    }
+
+    /**
+     * Checks if the score of this line differs from the one the player received last.
+     *
+     * @param slot the slot of the player
+     * @param variableItem the line
+     * @param score the new score
+     * @return true if the score should be sent
+     */
+    protected boolean isChanged(int slot, VariableItem variableItem, int score) {
+        return scoreCache.isChanged(slot, variableItem.getIndex(), score);
+    }
+
+    /**
+     * Forgets all sent scores of this player, because the client received a new objective.
+     *
+     * @param player the player
+     */
+    protected void forgetScores(Player player) {
+        scoreCache.remove(plugin.getPlayerRegistry().getSlot(player));
+        replaceManager.forgetTexts(player);
+    }
 
     protected void scheduleShowTask(Player player, boolean action) {
         if (!Settings.isTempScoreboard()) {
@@ -106,7 +264,7 @@ public abstract class SbManager {
             intervall = Settings.getTempDisappear();
         }
 
-        Bukkit.getScheduler().runTaskLater(plugin, new DelayedShowTask(player, action, this), intervall * 20L);
+        plugin.getScheduler().runForPlayerLater(player, new DelayedShowTask(player, action, this), intervall * 20L);
     }
 
     protected String stripLength(String check) {
@@ -117,6 +275,16 @@ public abstract class SbManager {
         return check;
     }
 
+    /**
+     * Checks if the sidebar objective is one of our own scoreboards that can be replaced by the main scoreboard.
+     *
+     * @param objectiveName the name of the current sidebar objective
+     * @return true if it's the temp scoreboard or the placeholder
+     */
+    protected boolean isReplaceable(String objectiveName) {
+        return TEMP_SB_NAME.equals(objectiveName) || LOADING_SB_NAME.equals(objectiveName);
+    }
+
     protected boolean isAllowed(Player player) {
         return player.hasPermission(permission) && Settings.isActiveWorld(player.getWorld().getName());
     }
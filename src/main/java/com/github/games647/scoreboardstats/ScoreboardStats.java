@@ -1,14 +1,20 @@
 package com.github.games647.scoreboardstats;
 
 import com.github.games647.scoreboardstats.commands.SidebarCommands;
+import com.github.games647.scoreboardstats.config.Lang;
 import com.github.games647.scoreboardstats.config.Settings;
 import com.github.games647.scoreboardstats.pvpstats.Database;
+import com.github.games647.scoreboardstats.scheduler.BukkitPluginScheduler;
+import com.github.games647.scoreboardstats.scheduler.PluginScheduler;
+import com.github.games647.scoreboardstats.scheduler.RegionizedPluginScheduler;
 import com.github.games647.scoreboardstats.scoreboard.bukkit.BukkitScoreboardManager;
 import com.github.games647.scoreboardstats.scoreboard.protocol.PacketSbManager;
 import com.github.games647.scoreboardstats.variables.ReplaceManager;
 
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
@@ -17,7 +23,11 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class ScoreboardStats extends JavaPlugin {
 
     //don't create instances here that accesses the bukkit API - it will be incomptible with older mc versions
+    private PluginScheduler scheduler;
+    private PlayerRegistry playerRegistry;
     private RefreshTask refreshTask;
+    private ActivityTracker activityTracker;
+    private AdmissionQueue admissionQueue;
     private Settings settings;
     private SbManager scoreboardManager;
     private Database database;
@@ -44,6 +54,24 @@ public class ScoreboardStats extends JavaPlugin {
         return scoreboardManager.getReplaceManager();
     }
 
+    /**
+     * Get the scheduler that runs the tasks on the right threads
+     *
+     * @return the scheduler
+     */
+    public PluginScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Get the registry that gives every online player a slot
+     *
+     * @return the player registry
+     */
+    public PlayerRegistry getPlayerRegistry() {
+        return playerRegistry;
+    }
+
     /**
      * Get the refresh task for updating the scoreboard
      *
@@ -53,6 +81,24 @@ public class ScoreboardStats extends JavaPlugin {
         return refreshTask;
     }
 
+    /**
+     * Get the queue that limits the scoreboard creations of joining players
+     *
+     * @return the admission queue
+     */
+    public AdmissionQueue getAdmissionQueue() {
+        return admissionQueue;
+    }
+
+    /**
+     * Get the tracker for idle players
+     *
+     * @return the activity tracker
+     */
+    public ActivityTracker getActivityTracker() {
+        return activityTracker;
+    }
+
     /**
      * The database manager for pvp stats
      *
@@ -81,18 +127,37 @@ public class ScoreboardStats extends JavaPlugin {
         settings = new Settings(this);
         settings.loadConfig();
 
+        if (RegionizedPluginScheduler.isSupported() && !Settings.isCompatibilityMode()) {
+            //the Bukkit scoreboards would fail on every update
+            getLogger().severe(Lang.get("regionizedProtocolLib"));
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+
+        scheduler = createScheduler();
+        playerRegistry = new PlayerRegistry();
         refreshTask = new RefreshTask(this);
+        activityTracker = new ActivityTracker(this);
+        admissionQueue = new AdmissionQueue(this);
 
-        //Register all events
+        //Register all events - the registry first, so the slots exist for the other listeners
+        getServer().getPluginManager().registerEvents(playerRegistry, this);
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
+        getServer().getPluginManager().registerEvents(activityTracker, this);
+        //players that are already online on a reload
+        BackwardsCompatibleUtil.getOnlinePlayers().forEach(playerRegistry::register);
+        for (Player player : playerRegistry.getOnlinePlayers()) {
+            activityTracker.markActive(player);
+        }
 
         //register all commands based on the root command of this plugin
         getCommand(getName().toLowerCase()).setExecutor(new SidebarCommands(this));
 
         //start tracking the ticks
-        getServer().getScheduler().runTaskTimer(this, new TicksPerSecondTask(), 5 * 20L, 3 * 20L);
+        scheduler.runTimer(new TicksPerSecondTask(), 5 * 20L, 3 * 20L);
         //Start the refresh task; it should run on every tick, because it's smoothly update the variables with limit
-        getServer().getScheduler().runTaskTimer(this, refreshTask, 5 * 20L, 1L);
+        scheduler.runTimer(refreshTask, 5 * 20L, 1L);
+        scheduler.runTimer(admissionQueue, 1L, 1L);
 
         if (Settings.isCompatibilityMode()) {
             scoreboardManager = new PacketSbManager(this);
@@ -109,6 +174,18 @@ public class ScoreboardStats extends JavaPlugin {
         scoreboardManager.registerAll();
     }
 
+    private PluginScheduler createScheduler() {
+        if (RegionizedPluginScheduler.isSupported()) {
+            try {
+                return new RegionizedPluginScheduler(this);
+            } catch (ReflectiveOperationException reflectiveEx) {
+                getLogger().log(Level.WARNING, "Cannot use the regionized scheduler", reflectiveEx);
+            }
+        }
+
+        return new BukkitPluginScheduler(this);
+    }
+
     /**
      * Disable the plugin
      */
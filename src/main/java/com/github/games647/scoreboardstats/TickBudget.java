@@ -0,0 +1,68 @@
+package com.github.games647.scoreboardstats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates how much time the refresh task can spend in a single tick. The budget will be reduced fast if the
+ * server is lagging and slowly recovers if the server is healthy again.
+ */
+public class TickBudget {
+
+    //1000 ms / 20 ticks
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    //a tick that takes 10 percent longer counts as lag
+    private static final long LAG_THRESHOLD = TICK_NANOS + TICK_NANOS / 10;
+
+    //the budget never shrinks below this fraction, so the players still receive a few updates
+    private static final int MIN_FRACTION = 10;
+    //number of healthy ticks to recover the full budget
+    private static final int RECOVER_TICKS = 20;
+
+    private final long maxBudget;
+
+    private long budget;
+    private long lastTick;
+
+    /**
+     * Creates a new tick budget
+     *
+     * @param maxBudget the budget in nano seconds if the server is healthy
+     */
+    public TickBudget(long maxBudget) {
+        this.maxBudget = maxBudget;
+        this.budget = maxBudget;
+    }
+
+    /**
+     * Get the budget for the current tick based on the duration of the last tick and the current ticks per second.
+     *
+     * @param now the current time in nano seconds
+     * @param ticksPerSecond the last measured ticks per second
+     * @return the budget in nano seconds
+     * @see TicksPerSecondTask
+     */
+    public long nextBudget(long now, float ticksPerSecond) {
+        long tickDuration = lastTick == 0 ? TICK_NANOS : now - lastTick;
+        lastTick = now;
+
+        if (tickDuration > LAG_THRESHOLD) {
+            //the server is lagging - back off fast
+            budget = Math.max(budget / 2, maxBudget / MIN_FRACTION);
+        } else {
+            budget = Math.min(budget + maxBudget / RECOVER_TICKS, maxBudget);
+        }
+
+        //don't use more than the server is able to handle on average
+        long tpsLimit = (long) (maxBudget * Math.min(ticksPerSecond, 20.0F) / 20.0F);
+        return Math.max(Math.min(budget, tpsLimit), maxBudget / MIN_FRACTION);
+    }
+
+    /**
+     * Get the current budget without measuring a new tick
+     *
+     * @return the budget in nano seconds
+     */
+    public long getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.games647.scoreboardstats;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+/**
+ * Represents a bucketed ring of scheduled elements. Every tick only the bucket of the current tick will be visited
+ * instead of scanning all scheduled elements.
+ *
+ * Elements which were due, but not polled in their tick are carried to the front of the next bucket, so they will be
+ * the first ones on the next tick and no one starves.
+ *
+ * @param <E> the type of the scheduled elements
+ */
+public class TimingWheel<E> {
+
+    private final Map<E, Node<E>> nodes = Maps.newHashMapWithExpectedSize(100);
+
+    private final Node<E>[] heads;
+    private final Node<E>[] tails;
+
+    private int cursor;
+    private long tick;
+
+    /**
+     * Creates a new timing wheel
+     *
+     * @param maxDelay the highest delay in ticks an element can be scheduled with
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int maxDelay) {
+        Preconditions.checkArgument(maxDelay > 0, "the max delay has to be positive");
+
+        //one extra slot, so an element with the max delay doesn't land in the bucket that is currently polled
+        this.heads = new Node[maxDelay + 1];
+        this.tails = new Node[maxDelay + 1];
+    }
+
+    /**
+     * Get the highest delay that this wheel supports
+     *
+     * @return the highest delay in ticks
+     */
+    public int getMaxDelay() {
+        return heads.length - 1;
+    }
+
+    /**
+     * Schedules a new element.
+     *
+     * @param element the element that should be added
+     * @param delay the ticks after the element will be due
+     * @return true if the element wasn't already scheduled
+     */
+    public boolean add(E element, int delay) {
+        if (nodes.containsKey(element)) {
+            return false;
+        }
+
+        Node<E> node = new Node<>(element);
+        nodes.put(element, node);
+        link(node, delay);
+        return true;
+    }
+
+    /**
+     * Schedules an element again that is already in this wheel. This can be an element that is currently polled
+     * or one that is still waiting.
+     *
+     * @param element the element that should be moved
+     * @param delay the ticks after the element will be due
+     * @return false if the element was removed in the meanwhile
+     */
+    public boolean requeue(E element, int delay) {
+        Node<E> node = nodes.get(element);
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        link(node, delay);
+        return true;
+    }
+
+    /**
+     * Get the next due element of the current tick. The element will be still a part of this wheel until it's
+     * removed or scheduled again by {@link #requeue(Object, int)}
+     *
+     * @return the next due element or null if there is no one left in this tick
+     */
+    public E poll() {
+        Node<E> node = heads[cursor];
+        if (node == null) {
+            return null;
+        }
+
+        unlink(node);
+        return node.element;
+    }
+
+    /**
+     * Copies the due elements of the current tick in the order they will be polled without removing them.
+     *
+     * @param target the array the elements will be copied to
+     * @return the number of copied elements, which is limited by the length of the array
+     */
+    public int peek(E[] target) {
+        int count = 0;
+        for (Node<E> node = heads[cursor]; node != null && count < target.length; node = node.next) {
+            target[count] = node.element;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Moves the wheel to the next tick. Not polled elements of the last tick will be carried over to the next one.
+     */
+    public void advance() {
+        tick++;
+
+        int last = cursor;
+        cursor = (cursor + 1) % heads.length;
+
+        Node<E> leftHead = heads[last];
+        if (leftHead == null) {
+            return;
+        }
+
+        Node<E> leftTail = tails[last];
+        heads[last] = null;
+        tails[last] = null;
+        for (Node<E> node = leftHead; node != null; node = node.next) {
+            node.slot = cursor;
+        }
+
+        //put them in front of the new bucket
+        if (heads[cursor] == null) {
+            tails[cursor] = leftTail;
+        } else {
+            leftTail.next = heads[cursor];
+            heads[cursor].prev = leftTail;
+        }
+
+        heads[cursor] = leftHead;
+    }
+
+    /**
+     * Get how many ticks the next due element is already waiting longer than it was scheduled for. Elements that
+     * are carried over keep their staleness, so it grows with every tick they are skipped.
+     *
+     * @return the ticks the next due element is late or 0 if there is no due element left
+     */
+    public int getStaleness() {
+        Node<E> node = heads[cursor];
+        if (node == null) {
+            return 0;
+        }
+
+        return (int) (tick - node.dueTick);
+    }
+
+    /**
+     * Checks if the element is in this wheel.
+     *
+     * @param element the element
+     * @return true if the element is scheduled or polled but not removed yet
+     */
+    public boolean contains(E element) {
+        return nodes.containsKey(element);
+    }
+
+    /**
+     * Removes the element from this wheel.
+     *
+     * @param element the element that should be removed
+     * @return true if the element was found
+     */
+    public boolean remove(E element) {
+        Node<E> node = nodes.remove(element);
+        if (node == null) {
+            return false;
+        }
+
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Get the number of elements in this wheel
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        nodes.clear();
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = null;
+            tails[i] = null;
+        }
+    }
+
+    private void link(Node<E> node, int delay) {
+        int ticks = Math.max(1, Math.min(delay, getMaxDelay()));
+        int slot = (cursor + ticks) % heads.length;
+
+        node.slot = slot;
+        node.dueTick = tick + ticks;
+        node.prev = tails[slot];
+        node.next = null;
+        if (tails[slot] == null) {
+            heads[slot] = node;
+        } else {
+            tails[slot].next = node;
+        }
+
+        tails[slot] = node;
+    }
+
+    private void unlink(Node<E> node) {
+        int slot = node.slot;
+        if (slot == -1) {
+            //not linked to a bucket - for example it's currently polled
+            return;
+        }
+
+        if (node.prev == null) {
+            heads[slot] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+
+        if (node.next == null) {
+            tails[slot] = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+
+        node.prev = null;
+        node.next = null;
+        node.slot = -1;
+    }
+
+    private static class Node<E> {
+
+        private final E element;
+
+        private Node<E> prev;
+        private Node<E> next;
+        private int slot = -1;
+        private long dueTick;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -89,6 +89,7 @@ public class SidebarCommands implements TabExecutor {
     private void registerSubCommands() {
         register(new ToggleCommand(plugin));
         register(new ReloadCommand(plugin));
+        register(new TimingsCommand(plugin));
     }
 
     private void register(CommandHandler handler) {
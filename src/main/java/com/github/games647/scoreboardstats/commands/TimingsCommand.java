@@ -0,0 +1,56 @@
+package com.github.games647.scoreboardstats.commands;
+
+import com.github.games647.scoreboardstats.ActivityTracker;
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Lang;
+import com.github.games647.scoreboardstats.scoreboard.ScoreCache;
+import com.github.games647.scoreboardstats.variables.ReplacerHealth;
+
+import java.util.List;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * Shows how much work the scoreboard updates cause
+ */
+public class TimingsCommand extends CommandHandler {
+
+    private static final int MAX_REPLACERS = 5;
+
+    public TimingsCommand(ScoreboardStats plugin) {
+        super("timings", "&aShows statistics about the scoreboard updates", plugin);
+    }
+
+    @Override
+    public void onCommand(CommandSender sender, String subCommand, String... args) {
+        sender.sendMessage(Lang.get("timingsHeader"));
+
+        ScoreCache scoreCache = plugin.getScoreboardManager().getScoreCache();
+        long hits = scoreCache.getHits();
+        long total = hits + scoreCache.getMisses();
+        int percent = total == 0 ? 0 : (int) (hits * 100 / total);
+        sender.sendMessage(Lang.get("timingsScoreCache", hits, total, percent));
+
+        ActivityTracker activityTracker = plugin.getActivityTracker();
+        Player[] onlinePlayers = plugin.getPlayerRegistry().getOnlinePlayers();
+        int idle = 0;
+        for (Player player : onlinePlayers) {
+            if (activityTracker.isIdle(player)) {
+                idle++;
+            }
+        }
+
+        int online = onlinePlayers.length;
+        sender.sendMessage(Lang.get("timingsActivity", online - idle, idle));
+        sender.sendMessage(Lang.get("timingsAdmission", plugin.getAdmissionQueue().getWaiting()));
+
+        //show the slowest replacers first
+        List<ReplacerHealth> replacers = plugin.getReplaceManager().getReplacerHealth();
+        for (ReplacerHealth health : replacers.subList(0, Math.min(MAX_REPLACERS, replacers.size()))) {
+            String key = health.isOpen() ? "timingsReplacerPaused" : "timingsReplacer";
+            String average = String.format("%.2f", health.getAverageMillis());
+            sender.sendMessage(Lang.get(key, health.getName(), average, health.getCalls(), health.getFailures()));
+        }
+    }
+}
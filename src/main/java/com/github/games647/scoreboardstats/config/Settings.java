@@ -1,8 +1,13 @@
 package com.github.games647.scoreboardstats.config;
 
 import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.scheduler.RegionizedPluginScheduler;
+import com.github.games647.scoreboardstats.variables.CompiledExpression;
+import com.github.games647.scoreboardstats.variables.ExpressionParser;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 
@@ -35,6 +40,33 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
     @ConfigNode(path = "Scoreboard.Update-delay")
     private static int interval;
 
+    @ConfigNode(path = "Scoreboard.Adaptive-delay")
+    private static boolean adaptiveDelay;
+
+    @ConfigNode(path = "Scoreboard.Max-adaptive-delay")
+    private static int maxAdaptiveDelay;
+
+    @ConfigNode(path = "Scoreboard.Idle-after")
+    private static int idleAfter;
+
+    @ConfigNode(path = "Scoreboard.Idle-update-delay")
+    private static int idleInterval;
+
+    @ConfigNode(path = "Join-admission-rate")
+    private static int admissionRate;
+
+    @ConfigNode(path = "Scoreboard.Tick-budget")
+    private static double tickBudget;
+
+    @ConfigNode(path = "Scoreboard.Replacer-budget")
+    private static double replacerBudget;
+
+    @ConfigNode(path = "Scoreboard.Replacer-error-rate")
+    private static int replacerErrorRate;
+
+    @ConfigNode(path = "Scoreboard.Placeholder-cache")
+    private static int placeholderCache;
+
     @ConfigNode(path = "Temp-Scoreboard.Items")
     private static int topItems;
 
@@ -45,6 +77,7 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
     private static int tempDisapper;
 
     private static Set<String> worlds;
+    private static Map<String, CompiledExpression> derivedVariables = ImmutableMap.of();
 
     @ConfigNode(path = "disabled-worlds-whitelist")
     private static boolean isWhitelist;
@@ -121,6 +154,96 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
         return interval;
     }
 
+    /**
+     * Get the maximum time in milliseconds that can be spent on refreshing the players in a single tick.
+     *
+     * @return the time budget per tick or 0 if the updates should be split equally over the ticks
+     */
+    public static double getTickBudget() {
+        return tickBudget;
+    }
+
+    /**
+     * Get the seconds without any action after a player counts as idle
+     *
+     * @return the seconds until a player is idle or 0 if disabled
+     */
+    public static int getIdleAfter() {
+        return idleAfter;
+    }
+
+    /**
+     * Get the interval in which the items of idle players being refreshed.
+     *
+     * @return the interval in seconds for idle players
+     */
+    public static int getIdleInterval() {
+        return idleInterval;
+    }
+
+    /**
+     * Get the variables that are calculated from other variables
+     *
+     * @return the compiled expressions by the name of the variable
+     */
+    public static Map<String, CompiledExpression> getDerivedVariables() {
+        return derivedVariables;
+    }
+
+    /**
+     * Get the maximum average time of a single replace, before the replacer will be paused.
+     *
+     * @return the time in milliseconds or 0 if disabled
+     */
+    public static double getReplacerBudget() {
+        return replacerBudget;
+    }
+
+    /**
+     * Get the percent of failed replaces, before the replacer will be paused.
+     *
+     * @return the error rate in percent or 0 if disabled
+     */
+    public static int getReplacerErrorRate() {
+        return replacerErrorRate;
+    }
+
+    /**
+     * Get how long the resolved PlaceholderAPI placeholders of a player are reused.
+     *
+     * @return the time in milliseconds or 0 if disabled
+     */
+    public static int getPlaceholderCache() {
+        return placeholderCache;
+    }
+
+    /**
+     * Get how many first scoreboard creations and stats loads can start per tick
+     *
+     * @return the max number per tick or 0 if unlimited
+     */
+    public static int getAdmissionRate() {
+        return admissionRate;
+    }
+
+    /**
+     * Check if variables should be replaced less often if their value doesn't change
+     *
+     * @return whether the refresh delay of the variables adapts to the changes
+     */
+    public static boolean isAdaptiveDelay() {
+        return adaptiveDelay;
+    }
+
+    /**
+     * Get the highest delay in seconds for the adaptive refresh delay
+     *
+     * @return the max delay in seconds
+     */
+    public static int getMaxAdaptiveDelay() {
+        return maxAdaptiveDelay;
+    }
+
     /**
      * Get how many items the temp-scoreboard should have
      *
@@ -170,9 +293,16 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
         tempTitle = trimLength(tempTitle, 32);
 
         String title = config.getString("Scoreboard.Title");
-        mainScoreboard = new SidebarConfig(trimLength(title, 32));
+        if (!TextTemplate.containsVariable(title)) {
+            //the rendered title will be cut
+            title = trimLength(title, 32);
+        }
+
+        mainScoreboard = new SidebarConfig(title);
         //Load all normal scoreboard variables
         loaditems(config.getConfigurationSection("Scoreboard.Items"));
+        loadDelays(config.getConfigurationSection("Scoreboard.Variable-delay"));
+        loadDerived(config.getConfigurationSection("Scoreboard.Derived-variables"));
 
         //temp-scoreboard
         tempScoreboard = tempScoreboard && pvpStats;
@@ -208,6 +338,43 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
         return input;
     }
 
+    private void loadDelays(ConfigurationSection config) {
+        if (config == null) {
+            //no variable specific delays
+            return;
+        }
+
+        for (String key : config.getKeys(false)) {
+            //Prevent case-sensitive mistakes
+            String variable = key.replace("%", "").toLowerCase();
+            VariableItem variableItem = mainScoreboard.getItemsByVariable().get(variable);
+            if (variableItem != null) {
+                variableItem.setRefreshDelay(config.getInt(key));
+            }
+        }
+    }
+
+    private void loadDerived(ConfigurationSection config) {
+        derivedVariables = ImmutableMap.of();
+        if (config == null) {
+            return;
+        }
+
+        ImmutableMap.Builder<String, CompiledExpression> builder = ImmutableMap.builder();
+        for (String key : config.getKeys(false)) {
+            //Prevent case-sensitive mistakes
+            String variable = key.replace("%", "").toLowerCase();
+            try {
+                builder.put(variable, ExpressionParser.compile(config.getString(key)));
+            } catch (IllegalArgumentException illegalArgumentException) {
+                String reason = illegalArgumentException.getMessage();
+                plugin.getLogger().warning(Lang.get("invalidExpression", variable, reason));
+            }
+        }
+
+        derivedVariables = builder.build();
+    }
+
     private void loaditems(ConfigurationSection config) {
         //clear all existing items
         mainScoreboard.clear();
@@ -221,22 +388,23 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
                 break;
             }
 
-            String displayName = trimLength(key, maxLength);
             String value = config.getString(key);
-            if (displayName.contains("%")) {
-                String variable = "";
-//                mainScoreboard.addVariableItem(true, variable, displayName, value);
-            } else if (value.charAt(0) == '%' && value.charAt(value.length() - 1) == '%') {
+            if (value.charAt(0) == '%' && value.charAt(value.length() - 1) == '%') {
                 //Prevent case-sensitive mistakes
                 String variable = value.replace("%", "").toLowerCase();
-                mainScoreboard.addVariableItem(false, variable, displayName, 0);
+                mainScoreboard.addVariableItem(false, variable, trimLength(key, maxLength), 0);
             } else {
                 try {
                     int score = Integer.parseInt(value);
-                    mainScoreboard.addItem(displayName, score);
+                    if (TextTemplate.containsVariable(key)) {
+                        //the rendered text will be cut
+                        mainScoreboard.addTextItem(key, score, maxLength);
+                    } else {
+                        mainScoreboard.addItem(trimLength(key, maxLength), score);
+                    }
                 } catch (NumberFormatException numberFormatException) {
                     //Prevent user mistakes
-                    plugin.getLogger().info(Lang.get("missingVariableSymbol", displayName));
+                    plugin.getLogger().info(Lang.get("missingVariableSymbol", key));
                 }
             }
         }
@@ -249,6 +417,12 @@ public class Settings extends CommentedYaml<ScoreboardStats> {
 
     //Inform the user that he should use compatibility modus to be compatible with some plugins
     private boolean isCompatibilityMode(boolean active) {
+        if (!active && RegionizedPluginScheduler.isSupported()) {
+            //regionized servers don't support the Bukkit scoreboards
+            plugin.getLogger().info(Lang.get("regionizedCompatibility"));
+            active = true;
+        }
+
         if (active) {
             if (!plugin.getServer().getPluginManager().isPluginEnabled("ProtocolLib")) {
                 //we cannot active compatibilityMode without ProtocolLib
@@ -1,5 +1,6 @@
 package com.github.games647.scoreboardstats.config;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
 import java.util.Map;
@@ -8,64 +9,167 @@ import org.bukkit.ChatColor;
 
 public class SidebarConfig {
 
-    private String displayName;
+    private TextTemplate title;
 
+    //guarded by this - unknown variables are removed from the thread of the player
     private final Map<String, VariableItem> itemsByName = Maps.newHashMapWithExpectedSize(15);
     private final Map<String, VariableItem> itemsByVariable = Maps.newHashMapWithExpectedSize(15);
 
+    //immutable copies for the readers
+    private volatile Map<String, VariableItem> nameSnapshot = ImmutableMap.of();
+    private volatile Map<String, VariableItem> variableSnapshot = ImmutableMap.of();
+
+    //arrays can be iterated without an iterator on every update
+    private volatile VariableItem[] items = new VariableItem[0];
+    private volatile VariableItem[] variableItems = new VariableItem[0];
+    private volatile VariableItem[] textItems = new VariableItem[0];
+
     public SidebarConfig(String displayName) {
-        this.displayName = ChatColor.translateAlternateColorCodes('&', displayName);
+        setTitle(displayName);
     }
 
+    /**
+     * Get the title without its variables
+     *
+     * @return the colored title
+     */
     public String getTitle() {
-        return displayName;
+        return title.getStaticText();
+    }
+
+    /**
+     * Get the compiled title
+     *
+     * @return the compiled title
+     */
+    public TextTemplate getTitleTemplate() {
+        return title;
     }
 
     public void setTitle(String displayName) {
-        this.displayName = ChatColor.translateAlternateColorCodes('&', displayName);
+        //a title can have 32 characters
+        this.title = TextTemplate.compile(ChatColor.translateAlternateColorCodes('&', displayName), 32);
     }
 
-    public void addItem(String displayName, int score) {
+    public synchronized void addItem(String displayName, int score) {
         String colorName = ChatColor.translateAlternateColorCodes('&', displayName);
 
         VariableItem variableItem = new VariableItem(false, null, colorName, score);
+        variableItem.setIndex(itemsByName.size());
         itemsByName.put(colorName, variableItem);
+        updateSnapshots();
     }
 
-    public void addVariableItem(boolean textVariable, String variable, String displayText, int defaultScore) {
+    public synchronized void addVariableItem(boolean textVariable, String variable, String displayText,
+                                             int defaultScore) {
         String coloredDisplay = ChatColor.translateAlternateColorCodes('&', displayText);
         
         VariableItem variableItem = new VariableItem(textVariable, variable, coloredDisplay, defaultScore);
+        variableItem.setIndex(itemsByName.size());
         itemsByName.put(coloredDisplay, variableItem);
         itemsByVariable.put(variable, variableItem);
+        updateSnapshots();
+    }
+
+    /**
+     * Adds an item with variables inside its text.
+     *
+     * @param displayText the text with the variables
+     * @param score the fixed score
+     * @param maxLength the maximum length of the rendered text
+     */
+    public synchronized void addTextItem(String displayText, int score, int maxLength) {
+        String coloredDisplay = ChatColor.translateAlternateColorCodes('&', displayText);
+
+        VariableItem variableItem = new VariableItem(TextTemplate.compile(coloredDisplay, maxLength), score);
+        variableItem.setIndex(itemsByName.size());
+        itemsByName.put(coloredDisplay, variableItem);
+        updateSnapshots();
     }
 
-    public void remove(VariableItem variableItem) {
-        itemsByName.remove(variableItem.getDisplayText());
-        itemsByVariable.remove(variableItem.getVariable());
+    public synchronized void remove(VariableItem variableItem) {
+        boolean removed = itemsByName.remove(variableItem.getDisplayText(), variableItem);
+        if (variableItem.getVariable() != null) {
+            removed |= itemsByVariable.remove(variableItem.getVariable(), variableItem);
+        }
+
+        //several players can run into the same unknown variable at once
+        if (removed) {
+            updateSnapshots();
+        }
     }
 
+    /**
+     * Get all items of this scoreboard. The returned array must not be modified.
+     *
+     * @return all items
+     */
+    public VariableItem[] getItems() {
+        return items;
+    }
+
+    /**
+     * Get all items of this scoreboard that contain a variable. The returned array must not be modified.
+     *
+     * @return all variable items
+     */
+    public VariableItem[] getVariableItems() {
+        return variableItems;
+    }
+
+    /**
+     * Get all items of this scoreboard that contain variables inside their text. The returned array must not be
+     * modified.
+     *
+     * @return all text items
+     */
+    public VariableItem[] getTextItems() {
+        return textItems;
+    }
+
+    /**
+     * Get the items by their display text. The returned map is an immutable copy.
+     *
+     * @return the items by their display text
+     */
     public Map<String, VariableItem> getItemsByName() {
-        return itemsByName;
+        return nameSnapshot;
     }
 
+    /**
+     * Get the items by their variable. The returned map is an immutable copy.
+     *
+     * @return the items by their variable
+     */
     public Map<String, VariableItem> getItemsByVariable() {
-        return itemsByVariable;
+        return variableSnapshot;
     }
 
     public int size() {
-        return itemsByName.size();
+        return nameSnapshot.size();
     }
 
-    public void clear() {
+    public synchronized void clear() {
         itemsByVariable.clear();
+        updateSnapshots();
+    }
+
+    private void updateSnapshots() {
+        nameSnapshot = ImmutableMap.copyOf(itemsByName);
+        variableSnapshot = ImmutableMap.copyOf(itemsByVariable);
+
+        items = itemsByName.values().toArray(new VariableItem[0]);
+        variableItems = itemsByVariable.values().toArray(new VariableItem[0]);
+        textItems = itemsByName.values().stream()
+                .filter(item -> item.getTemplate() != null)
+                .toArray(VariableItem[]::new);
     }
 
     @Override
     public String toString() {
-        return "SidebarConfig{" + "displayName="
-                + displayName + ", itemsByVariable="
-                + itemsByVariable
+        return "SidebarConfig{" + "title="
+                + title + ", itemsByVariable="
+                + variableSnapshot
                 + '}';
     }
 }
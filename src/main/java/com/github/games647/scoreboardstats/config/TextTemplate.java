@@ -0,0 +1,173 @@
+package com.github.games647.scoreboardstats.config;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Represents a text with variables like <code>&amp;aOnline: %online%</code>, which is split into literal and
+ * variable segments when the config is loaded. Then the updates only have to append the segments instead of
+ * searching the variables in the text again.
+ *
+ * The text is always built in the order: literal 0, variable 0, literal 1, ... , variable n-1, literal n
+ */
+public class TextTemplate {
+
+    /**
+     * Checks if the text contains at least one variable
+     *
+     * @param text the text
+     * @return true if the text contains a variable
+     */
+    public static boolean containsVariable(String text) {
+        return compile(text, text.length()).hasVariables();
+    }
+
+    /**
+     * Splits the text into its segments
+     *
+     * @param text the text with the variable identifiers (%)
+     * @param maxLength the maximum length of the rendered text
+     * @return the compiled template
+     */
+    public static TextTemplate compile(String text, int maxLength) {
+        List<String> literals = Lists.newArrayList();
+        List<String> variables = Lists.newArrayList();
+
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < text.length()) {
+            char character = text.charAt(index);
+            int end = character == '%' ? text.indexOf('%', index + 1) : -1;
+            if (end == -1 || !isVariable(text, index + 1, end)) {
+                //not a variable - for example "100%"
+                literal.append(character);
+                index++;
+                continue;
+            }
+
+            literals.add(literal.toString());
+            literal.setLength(0);
+
+            //Prevent case-sensitive mistakes
+            variables.add(text.substring(index + 1, end).toLowerCase(Locale.ENGLISH));
+            index = end + 1;
+        }
+
+        literals.add(literal.toString());
+        return new TextTemplate(text, literals.toArray(new String[0]), variables.toArray(new String[0]), maxLength);
+    }
+
+    private static String join(String[] literals, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        for (String literal : literals) {
+            builder.append(literal);
+        }
+
+        if (builder.length() > maxLength) {
+            builder.setLength(maxLength);
+        }
+
+        return builder.toString();
+    }
+
+    private static boolean isVariable(String text, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private final String source;
+    private final String[] literals;
+    private final String[] variables;
+    private final int maxLength;
+    private final String staticText;
+
+    private TextTemplate(String source, String[] literals, String[] variables, int maxLength) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        this.maxLength = maxLength;
+        this.staticText = join(literals, maxLength);
+    }
+
+    /**
+     * Get the text like it's written in the config
+     *
+     * @return the text with the variable identifiers
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Get the text without the variables. This can be shown if the values aren't available yet.
+     *
+     * @return the literal segments which are cut to the maximum length
+     */
+    public String getStaticText() {
+        return staticText;
+    }
+
+    /**
+     * Checks if this template has to be rendered for every player
+     *
+     * @return true if the text contains variables
+     */
+    public boolean hasVariables() {
+        return variables.length > 0;
+    }
+
+    /**
+     * Get the number of variable segments
+     *
+     * @return the number of variables
+     */
+    public int getVariableCount() {
+        return variables.length;
+    }
+
+    /**
+     * Get the variable of a segment
+     *
+     * @param segment the index of the variable segment
+     * @return the variable <b>without the variable identifiers (%)</b>
+     */
+    public String getVariable(int segment) {
+        return variables[segment];
+    }
+
+    /**
+     * Get the literal text before the variable segment with the same index. The last literal is the text after
+     * the last variable.
+     *
+     * @param segment the index of the literal segment
+     * @return the literal text which can be empty
+     */
+    public String getLiteral(int segment) {
+        return literals[segment];
+    }
+
+    /**
+     * Get the maximum length of the rendered text. Longer texts will be cut.
+     *
+     * @return the maximum length
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public String toString() {
+        return "TextTemplate{" + "source=" + source + ", variables=" + variables.length + '}';
+    }
+}
@@ -4,9 +4,12 @@ public class VariableItem {
 
     private final boolean textVariable;
     private final String variable;
+    private final TextTemplate template;
 
     private String displayText;
     private int score;
+    private int refreshDelay;
+    private int index;
 
     public VariableItem(boolean textVariable, String variable, String displayText, int defaultScore) {
         this(textVariable, variable, displayText);
@@ -18,6 +21,21 @@ public class VariableItem {
         this.textVariable = textVariable;
         this.variable = variable;
         this.displayText = displayText;
+        this.template = null;
+    }
+
+    /**
+     * Creates an item with variables inside its text
+     *
+     * @param template the compiled text
+     * @param score the fixed score
+     */
+    public VariableItem(TextTemplate template, int score) {
+        this.textVariable = true;
+        this.variable = null;
+        this.displayText = template.getSource();
+        this.template = template;
+        this.score = score;
     }
 
     public String getDisplayText() {
@@ -36,6 +54,33 @@ public class VariableItem {
         this.score = score;
     }
 
+    /**
+     * Get the seconds after this variable should be replaced again
+     *
+     * @return the refresh delay in seconds or 0 if it should be replaced on every update
+     */
+    public int getRefreshDelay() {
+        return refreshDelay;
+    }
+
+    public void setRefreshDelay(int refreshDelay) {
+        this.refreshDelay = refreshDelay;
+    }
+
+    /**
+     * Get the position of this item in the order it was added to the scoreboard config. Per line state can be
+     * saved in arrays with this index.
+     *
+     * @return the index of this item
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     public boolean isTextVariable() {
         return textVariable;
     }
@@ -44,6 +89,15 @@ public class VariableItem {
         return variable;
     }
 
+    /**
+     * Get the compiled text of this item if it contains variables
+     *
+     * @return the compiled text or null if the text is static
+     */
+    public TextTemplate getTemplate() {
+        return template;
+    }
+
     @Override
     public String toString() {
         return "VariableItem{"
@@ -51,6 +105,7 @@ public class VariableItem {
                 + ", variable=" + variable
                 + ", displayText=" + displayText
                 + ", score=" + score
+                + ", refreshDelay=" + refreshDelay
                 + '}';
     }
 }
@@ -19,11 +19,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.CancellationException;
-import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -74,7 +73,7 @@ public class Database {
     public void loadAccountAsync(Player player) {
         if (getCachedStats(player) == null && dataSource != null) {
             Runnable statsLoader = new StatsLoader(plugin, dbConfig.isUuidUse(), player, this);
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, statsLoader);
+            plugin.getScheduler().runAsync(statsLoader);
         }
     }
 
@@ -162,7 +161,7 @@ public class Database {
      * @param stats PlayerStats data
      */
     public void saveAsync(PlayerStats stats) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> save(Lists.newArrayList(stats)));
+        plugin.getScheduler().runAsync(() -> save(Lists.newArrayList(stats)));
     }
 
     /**
@@ -328,19 +327,15 @@ public class Database {
             close(conn);
         }
 
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::updateTopList, 20 * 60 * 5, 0);
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        plugin.getScheduler().runAsyncTimer(this::updateTopList, 20 * 60 * 5, 20 * 60 * 5);
+        plugin.getScheduler().runAsyncTimer(() -> {
             if (dataSource == null) {
                 return;
             }
 
-            Future<Collection<? extends Player>> syncPlayers = Bukkit.getScheduler()
-                    .callSyncMethod(plugin, BackwardsCompatibleUtil::getOnlinePlayers);
-
             try {
-                Collection<? extends Player> onlinePlayers = syncPlayers.get();
-
-                List<PlayerStats> toSave = onlinePlayers.stream()
+                //the snapshot of the registry is thread-safe, so there is no need to wait for the main thread
+                List<PlayerStats> toSave = Stream.of(plugin.getPlayerRegistry().getOnlinePlayers())
                         .map(this::getCachedStats)
                         .filter(Objects::nonNull)
                         .filter(PlayerStats::isModified)
@@ -349,12 +344,10 @@ public class Database {
                 if (!toSave.isEmpty()) {
                     save(toSave);
                 }
-            } catch (CancellationException cancelEx) {
-                //ignore it on shutdown
             } catch (Exception ex) {
                 plugin.getLogger().log(Level.SEVERE, null, ex);
             }
-        }, 20 * 60, 0);
+        }, 20 * 60, 20 * 60);
 
         registerEvents();
     }
@@ -2,6 +2,7 @@ package com.github.games647.scoreboardstats.pvpstats;
 
 import com.github.games647.scoreboardstats.ScoreboardStats;
 import com.github.games647.scoreboardstats.config.Settings;
+import com.google.common.collect.ImmutableMap;
 
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
@@ -39,8 +40,8 @@ public class StatsListener implements Listener {
         //removing old metadata which wasn't removed (which can lead to memory leaks)
         player.removeMetadata("player_stats", plugin);
 
-        //load the pvpstats if activated
-        database.loadAccountAsync(player);
+        //load the pvpstats if activated - limited per tick
+        plugin.getAdmissionQueue().admitStats(player);
     }
 
     /**
@@ -100,20 +101,22 @@ public class StatsListener implements Listener {
             PlayerStats killedcache = database.getCachedStats(killed);
             if (killedcache != null) {
                 killedcache.onDeath();
-                plugin.getReplaceManager().updateScore(killed, "deaths", killedcache.getDeaths());
-                plugin.getReplaceManager().updateScore(killed, "kdr", killedcache.getKdr());
-                //will reset
-                plugin.getReplaceManager().updateScore(killed, "current_streak", killedcache.getLaststreak());
+                //the current streak will reset
+                plugin.getReplaceManager().updateScores(killed, ImmutableMap.of(
+                        "deaths", killedcache.getDeaths(),
+                        "kdr", killedcache.getKdr(),
+                        "current_streak", killedcache.getLaststreak()));
             }
 
             PlayerStats killercache = database.getCachedStats(killer);
             if (killercache != null) {
                 killercache.onKill();
-                plugin.getReplaceManager().updateScore(killer, "kills", killercache.getKills());
-                plugin.getReplaceManager().updateScore(killer, "kdr", killercache.getKdr());
                 //maybe the player reaches a new high score
-                plugin.getReplaceManager().updateScore(killer, "killstreak", killercache.getKillstreak());
-                plugin.getReplaceManager().updateScore(killer, "current_streak", killercache.getLaststreak());
+                plugin.getReplaceManager().updateScores(killer, ImmutableMap.of(
+                        "kills", killercache.getKills(),
+                        "kdr", killercache.getKdr(),
+                        "killstreak", killercache.getKillstreak(),
+                        "current_streak", killercache.getLaststreak()));
             }
         }
     }
@@ -1,11 +1,11 @@
 package com.github.games647.scoreboardstats.pvpstats;
 
 import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.google.common.collect.ImmutableMap;
 
 import java.lang.ref.WeakReference;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
 
@@ -50,17 +50,19 @@ public class StatsLoader implements Runnable {
                 stats.setUuid(player.getUniqueId());
             }
 
-            Bukkit.getScheduler().runTask(plugin, () -> {
+            plugin.getScheduler().runForPlayer(player, () -> {
                 //possible not thread-safe, so reschedule it while setMetadata is thread-safe
                 if (player.isOnline()) {
                     //sets it only if the player is only
                     player.setMetadata("player_stats", new FixedMetadataValue(plugin, stats));
-                    plugin.getReplaceManager().updateScore(player, "deaths", stats.getDeaths());
-                    plugin.getReplaceManager().updateScore(player, "kdr", stats.getKdr());
-                    plugin.getReplaceManager().updateScore(player, "kills", stats.getKills());
-                    plugin.getReplaceManager().updateScore(player, "killstreak", stats.getKillstreak());
-                    plugin.getReplaceManager().updateScore(player, "current_streak", stats.getLaststreak());
-                    plugin.getReplaceManager().updateScore(player, "mobkills", stats.getMobkills());
+                    plugin.getReplaceManager().updateScores(player, ImmutableMap.<String, Integer>builder()
+                            .put("deaths", stats.getDeaths())
+                            .put("kdr", stats.getKdr())
+                            .put("kills", stats.getKills())
+                            .put("killstreak", stats.getKillstreak())
+                            .put("current_streak", stats.getLaststreak())
+                            .put("mob", stats.getMobkills())
+                            .build());
                 }
             });
         }
@@ -3,6 +3,9 @@ package com.github.games647.scoreboardstats.pvpstats;
 import com.github.games647.scoreboardstats.ScoreboardStats;
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 import com.github.games647.scoreboardstats.variables.VariableReplaceAdapter;
+import com.github.games647.scoreboardstats.variables.VariableReplacer;
+
+import java.util.function.ToIntFunction;
 
 import org.bukkit.entity.Player;
 
@@ -24,25 +27,42 @@ public class StatsVariables extends VariableReplaceAdapter<ScoreboardStats> {
 
     @Override
     public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
-        PlayerStats stats = statsDatabase.getCachedStats(player);
-        replaceEvent.setConstant(true);
-        if (stats == null) {
-            //Null if the stats aren't loaded yet
-            return;
+        VariableReplacer accessor = bind(variable);
+        if (accessor == this) {
+            replaceEvent.setConstant(true);
+        } else {
+            accessor.onReplace(player, variable, replaceEvent);
         }
+    }
 
-        if ("kills".equals(variable)) {
-            replaceEvent.setScore(stats.getKills());
-        } else if ("deaths".equals(variable)) {
-            replaceEvent.setScore(stats.getDeaths());
-        } else if ("mob".equals(variable)) {
-            replaceEvent.setScore(stats.getMobkills());
-        } else if ("kdr".equals(variable)) {
-            replaceEvent.setScore(stats.getKdr());
-        } else if ("killstreak".equals(variable)) {
-            replaceEvent.setScore(stats.getKillstreak());
-        } else if ("current_streak".equals(variable)) {
-            replaceEvent.setScore(stats.getLaststreak());
+    @Override
+    public VariableReplacer bind(String variable) {
+        switch (variable) {
+            case "kills":
+                return bindStats(PlayerStats::getKills);
+            case "deaths":
+                return bindStats(PlayerStats::getDeaths);
+            case "mob":
+                return bindStats(PlayerStats::getMobkills);
+            case "kdr":
+                return bindStats(PlayerStats::getKdr);
+            case "killstreak":
+                return bindStats(PlayerStats::getKillstreak);
+            case "current_streak":
+                return bindStats(PlayerStats::getLaststreak);
+            default:
+                return super.bind(variable);
         }
     }
+
+    private VariableReplacer bindStats(ToIntFunction<PlayerStats> getter) {
+        return (player, variable, replaceEvent) -> {
+            PlayerStats stats = statsDatabase.getCachedStats(player);
+            replaceEvent.setConstant(true);
+            //Null if the stats aren't loaded yet
+            if (stats != null) {
+                replaceEvent.setScore(getter.applyAsInt(stats));
+            }
+        };
+    }
 }
@@ -0,0 +1,65 @@
+package com.github.games647.scoreboardstats.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules all tasks with the Bukkit scheduler on the main thread.
+ */
+public class BukkitPluginScheduler implements PluginScheduler {
+
+    private final Plugin plugin;
+
+    public BukkitPluginScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runTimer(Runnable task, long delay, long period) {
+        Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+    }
+
+    @Override
+    public void runSync(Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runSyncLater(Runnable task, long delay) {
+        Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public void runAsyncTimer(Runnable task, long delay, long period) {
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period);
+    }
+
+    @Override
+    public void runForPlayer(Player player, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public void runForPlayerLater(Player player, Runnable task, long delay) {
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline()) {
+                task.run();
+            }
+        }, delay);
+    }
+
+    @Override
+    public boolean isOwner(Player player) {
+        return Bukkit.isPrimaryThread();
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.games647.scoreboardstats.scheduler;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Represents the scheduling of this plugin. Servers with one main thread use the Bukkit scheduler. Regionized
+ * servers run the tasks of a player on the thread that owns the player.
+ *
+ * @see BukkitPluginScheduler
+ * @see RegionizedPluginScheduler
+ */
+public interface PluginScheduler {
+
+    /**
+     * Runs the task repeatedly on the main thread or on the global region.
+     *
+     * @param task the task
+     * @param delay the ticks before the first run
+     * @param period the ticks between the runs
+     */
+    void runTimer(Runnable task, long delay, long period);
+
+    /**
+     * Runs the task in the next tick on the main thread or on the global region.
+     *
+     * @param task the task
+     */
+    void runSync(Runnable task);
+
+    /**
+     * Runs the task later on the main thread or on the global region.
+     *
+     * @param task the task
+     * @param delay the delay in ticks
+     */
+    void runSyncLater(Runnable task, long delay);
+
+    /**
+     * Runs the task outside of the server threads.
+     *
+     * @param task the task
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Runs the task repeatedly outside of the server threads.
+     *
+     * @param task the task
+     * @param delay the ticks before the first run
+     * @param period the ticks between the runs
+     */
+    void runAsyncTimer(Runnable task, long delay, long period);
+
+    /**
+     * Runs the task on the thread that owns the player. The task will run immediately if the current thread is
+     * already the owner.
+     *
+     * @param player the player
+     * @param task the task
+     */
+    void runForPlayer(Player player, Runnable task);
+
+    /**
+     * Runs the task later on the thread that owns the player. The task won't run if the player left in the meanwhile.
+     *
+     * @param player the player
+     * @param task the task
+     * @param delay the delay in ticks
+     */
+    void runForPlayerLater(Player player, Runnable task, long delay);
+
+    /**
+     * Checks if the current thread is allowed to access the player
+     *
+     * @param player the player
+     * @return true if the current thread owns the player
+     */
+    boolean isOwner(Player player);
+}
@@ -0,0 +1,167 @@
+package com.github.games647.scoreboardstats.scheduler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules the tasks on regionized servers like Folia. The player tasks run on the entity scheduler of the player,
+ * so they are executed by the region thread that owns the player. The global tasks use the global region scheduler.
+ *
+ * The API isn't available in the Bukkit API, so it's accessed by reflection.
+ */
+public class RegionizedPluginScheduler implements PluginScheduler {
+
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+
+    //the async scheduler uses real time instead of ticks
+    private static final long MILLIS_PER_TICK = 50;
+
+    /**
+     * Checks if the server has regionized threading.
+     *
+     * @return true if the server is regionized
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName(REGIONIZED_SERVER);
+            return true;
+        } catch (ClassNotFoundException notFoundEx) {
+            return false;
+        }
+    }
+
+    private final Plugin plugin;
+
+    private final Object globalScheduler;
+    private final Object asyncScheduler;
+
+    private final Method globalRun;
+    private final Method globalRunTimer;
+    private final Method globalRunDelayed;
+    private final Method asyncRun;
+    private final Method asyncRunTimer;
+
+    private final Method entityScheduler;
+    private final Method entityRun;
+    private final Method entityRunDelayed;
+
+    //called for every score update, so it's resolved once without the reflection overhead
+    private final MethodHandle ownedByRegion;
+
+    /**
+     * Creates a new scheduler for regionized servers.
+     *
+     * @param plugin the plugin that owns the tasks
+     * @throws ReflectiveOperationException if the server API isn't compatible
+     */
+    public RegionizedPluginScheduler(Plugin plugin) throws ReflectiveOperationException {
+        this.plugin = plugin;
+
+        Object server = Bukkit.getServer();
+        globalScheduler = server.getClass().getMethod("getGlobalRegionScheduler").invoke(server);
+        asyncScheduler = server.getClass().getMethod("getAsyncScheduler").invoke(server);
+
+        Class<?> globalClass = Class.forName("io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler");
+        globalRun = globalClass.getMethod("run", Plugin.class, Consumer.class);
+        globalRunTimer = globalClass.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+        globalRunDelayed = globalClass.getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+
+        Class<?> asyncClass = Class.forName("io.papermc.paper.threadedregions.scheduler.AsyncScheduler");
+        asyncRun = asyncClass.getMethod("runNow", Plugin.class, Consumer.class);
+        asyncRunTimer = asyncClass.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class
+                , TimeUnit.class);
+
+        entityScheduler = Entity.class.getMethod("getScheduler");
+        Class<?> entityClass = Class.forName("io.papermc.paper.threadedregions.scheduler.EntityScheduler");
+        entityRun = entityClass.getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+        entityRunDelayed = entityClass.getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class
+                , long.class);
+
+        ownedByRegion = MethodHandles.publicLookup()
+                .findStatic(Bukkit.class, "isOwnedByCurrentRegion", MethodType.methodType(boolean.class, Entity.class));
+    }
+
+    @Override
+    public void runTimer(Runnable task, long delay, long period) {
+        //the global region scheduler doesn't allow a delay of zero
+        invoke(globalRunTimer, globalScheduler, plugin, toConsumer(task), Math.max(1, delay), period);
+    }
+
+    @Override
+    public void runSync(Runnable task) {
+        invoke(globalRun, globalScheduler, plugin, toConsumer(task));
+    }
+
+    @Override
+    public void runSyncLater(Runnable task, long delay) {
+        invoke(globalRunDelayed, globalScheduler, plugin, toConsumer(task), Math.max(1, delay));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        invoke(asyncRun, asyncScheduler, plugin, toConsumer(task));
+    }
+
+    @Override
+    public void runAsyncTimer(Runnable task, long delay, long period) {
+        invoke(asyncRunTimer, asyncScheduler, plugin, toConsumer(task), Math.max(1, delay) * MILLIS_PER_TICK
+                , Math.max(1, period) * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void runForPlayer(Player player, Runnable task) {
+        if (isOwner(player)) {
+            task.run();
+        } else {
+            //no retired callback - the player left
+            invoke(entityRun, invoke(entityScheduler, player), plugin, toConsumer(task), null);
+        }
+    }
+
+    @Override
+    public void runForPlayerLater(Player player, Runnable task, long delay) {
+        Object scheduler = invoke(entityScheduler, player);
+        invoke(entityRunDelayed, scheduler, plugin, toConsumer(task), null, Math.max(1, delay));
+    }
+
+    @Override
+    public boolean isOwner(Player player) {
+        try {
+            return (boolean) ownedByRegion.invokeExact((Entity) player);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private Consumer<Object> toConsumer(Runnable task) {
+        return scheduledTask -> task.run();
+    }
+
+    private Object invoke(Method method, Object instance, Object... args) {
+        try {
+            return method.invoke(instance, args);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        } catch (InvocationTargetException ex) {
+            //forward the real exception
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+}
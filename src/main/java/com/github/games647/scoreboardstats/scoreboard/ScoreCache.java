@@ -0,0 +1,111 @@
+package com.github.games647.scoreboardstats.scoreboard;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last score of every line that was sent to a player, so unchanged lines don't reach the scoreboard
+ * backend again. The scores are saved by the slot of the player and the index of the scoreboard item.
+ *
+ * @see com.github.games647.scoreboardstats.PlayerRegistry
+ * @see com.github.games647.scoreboardstats.config.VariableItem#getIndex()
+ */
+public class ScoreCache {
+
+    //a sidebar has at most 15 lines, so a single int can hold which lines are known
+    private static final int MAX_LINES = Integer.SIZE;
+
+    //read without a lock, but changed only while holding the lock of this cache
+    private volatile int[][] sentScores = new int[16][];
+    private volatile int[] knownLines = new int[16];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Checks if the score of this line differs from the one the client received last. If it's different the new
+     * score will be remembered as sent.
+     *
+     * @param slot the slot of the player or -1 if he isn't registered
+     * @param line the index of the scoreboard item or -1 if it's unknown
+     * @param score the new score
+     * @return true if the score should be sent
+     */
+    public boolean isChanged(int slot, int line, int score) {
+        if (slot < 0 || line < 0 || line >= MAX_LINES) {
+            misses.increment();
+            return true;
+        }
+
+        int lineBit = 1 << line;
+        int[][] scoreSnapshot = sentScores;
+        int[] knownSnapshot = knownLines;
+        if (slot < knownSnapshot.length && (knownSnapshot[slot] & lineBit) != 0
+                && scoreSnapshot[slot] != null && scoreSnapshot[slot][line] == score) {
+            hits.increment();
+            return false;
+        }
+
+        //writes to the old arrays would be lost if another thread grows them at the same time
+        synchronized (this) {
+            ensureCapacity(slot);
+
+            int[] scores = sentScores[slot];
+            if (scores == null) {
+                scores = new int[MAX_LINES];
+                sentScores[slot] = scores;
+            }
+
+            scores[line] = score;
+            knownLines[slot] |= lineBit;
+        }
+
+        misses.increment();
+        return true;
+    }
+
+    /**
+     * Forgets all sent lines of this player. This should be called if the scoreboard of the player is created again.
+     *
+     * @param slot the slot of the player
+     */
+    public synchronized void remove(int slot) {
+        if (slot >= 0 && slot < knownLines.length) {
+            knownLines[slot] = 0;
+        }
+    }
+
+    /**
+     * Forgets all sent lines of all players
+     */
+    public synchronized void clear() {
+        Arrays.fill(knownLines, 0);
+    }
+
+    /**
+     * Get the number of writes that were skipped, because the client had already the same score.
+     *
+     * @return the number of skipped writes
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of writes that were forwarded to the scoreboard backend.
+     *
+     * @return the number of forwarded writes
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    //guarded by this
+    private void ensureCapacity(int slot) {
+        if (slot >= knownLines.length) {
+            int newLength = Math.max(slot + 1, knownLines.length * 2);
+            sentScores = Arrays.copyOf(sentScores, newLength);
+            knownLines = Arrays.copyOf(knownLines, newLength);
+        }
+    }
+}
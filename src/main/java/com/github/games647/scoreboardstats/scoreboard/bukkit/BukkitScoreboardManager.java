@@ -8,7 +8,6 @@ import com.github.games647.scoreboardstats.config.VariableItem;
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 import com.github.games647.scoreboardstats.variables.UnknownVariableException;
 
-import java.util.Iterator;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -40,7 +39,7 @@ public class BukkitScoreboardManager extends SbManager {
     @Override
     public void createScoreboard(Player player) {
         Objective oldObjective = player.getScoreboard().getObjective(DisplaySlot.SIDEBAR);
-        if (!isAllowed(player) || oldObjective != null && !TEMP_SB_NAME.equals(oldObjective.getName())) {
+        if (!isAllowed(player) || oldObjective != null && !isReplaceable(oldObjective.getName())) {
             //Check if another scoreboard is showing
             return;
         }
@@ -58,28 +57,30 @@ public class BukkitScoreboardManager extends SbManager {
 
         Objective objective = board.registerNewObjective(SB_NAME, CRITERIA);
         objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-        objective.setDisplayName(Settings.getMainScoreboard().getTitle());
-
-        Iterator<VariableItem> iter = Settings.getMainScoreboard().getItemsByName().values().iterator();
-        while (iter.hasNext()) {
-            VariableItem scoreItem = iter.next();
+        //the client has a new objective without any items
+        forgetScores(player);
+        objective.setDisplayName(renderTitle(player, true));
+        plugin.getRefreshTask().resume(player);
 
+        for (VariableItem scoreItem : Settings.getMainScoreboard().getItems()) {
             String displayText = scoreItem.getDisplayText();
             int defScore = scoreItem.getScore();
 
             String variable = scoreItem.getVariable();
-            if (variable == null) {
+            if (scoreItem.getTemplate() != null) {
+                sendText(player, scoreItem);
+            } else if (variable == null) {
                 update(player, displayText, defScore);
             } else {
                 try {
-                    ReplaceEvent replaceEvent = replaceManager.getScore(player, variable, displayText, defScore, true);
+                    ReplaceEvent replaceEvent = replaceManager.getScore(player, scoreItem, true);
+                    replaceManager.onReplaced(player, scoreItem, replaceEvent.getScore());
                     if (replaceEvent.isModified()) {
-                        sendScore(objective, displayText, replaceEvent.getScore(), true);
+                        sendCachedScore(player, objective, displayText, replaceEvent.getScore(), true);
                     }
                 } catch (UnknownVariableException ex) {
                     //Remove the variable becaue we can't replace it
-                    iter.remove();
-                    Settings.getMainScoreboard().getItemsByVariable().remove(scoreItem.getVariable());
+                    Settings.getMainScoreboard().remove(scoreItem);
 
                     plugin.getLogger().info(Lang.get("unknownVariable", scoreItem));
                 }
@@ -92,22 +93,31 @@ public class BukkitScoreboardManager extends SbManager {
 
     @Override
     public void unregister(Player player) {
+        replaceManager.clearSchedule(player);
+        forgetScores(player);
+
         player.getScoreboard().getObjectives().stream()
                 .filter(obj -> obj.getName().startsWith(SB_NAME))
                 .forEach(Objective::unregister);
     }
 
     @Override
-    public void onUpdate(Player player) {
+    public void onUpdate(Player player, int slot) {
         Objective objective = player.getScoreboard().getObjective(DisplaySlot.SIDEBAR);
         if (objective == null) {
             //The player has no scoreboard so create one
             createScoreboard(player);
         } else {
-            sendUpdate(player);
+            sendUpdate(player, slot);
         }
     }
 
+    @Override
+    public boolean canShowScoreboard(Player player) {
+        Objective objective = player.getScoreboard().getObjective(DisplaySlot.SIDEBAR);
+        return objective == null || SB_NAME.equals(objective.getName()) || LOADING_SB_NAME.equals(objective.getName());
+    }
+
     @Override
     public void createTopListScoreboard(Player player) {
         Objective oldObjective = player.getScoreboard().getObjective(DisplaySlot.SIDEBAR);
@@ -137,43 +147,100 @@ public class BukkitScoreboardManager extends SbManager {
         scheduleShowTask(player, false);
     }
 
+    @Override
+    public void createPlaceholder(Player player) {
+        if (!isAllowed(player) || player.getScoreboard().getObjective(DisplaySlot.SIDEBAR) != null) {
+            //Check if another scoreboard is showing
+            return;
+        }
+
+        Scoreboard board = Bukkit.getScoreboardManager().getNewScoreboard();
+        try {
+            player.setScoreboard(board);
+        } catch (IllegalStateException stateEx) {
+            //the player logged out - fail silently
+            return;
+        }
+
+        Objective objective = board.registerNewObjective(LOADING_SB_NAME, CRITERIA);
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        objective.setDisplayName(Settings.getMainScoreboard().getTitle());
+        sendScore(objective, stripLength(Lang.get("loadingScoreboard")), 0, true);
+    }
+
     @Override
     public void update(Player player, String itemName, int newScore) {
         Scoreboard scoreboard = player.getScoreboard();
         if (scoreboard != null) {
             Objective objective = scoreboard.getObjective(SB_NAME);
             if (objective != null) {
-                sendScore(objective, itemName, newScore, false);
+                sendCachedScore(player, objective, itemName, newScore, false);
             }
         }
     }
 
     @Override
-    protected void sendUpdate(Player player) {
+    protected void sendUpdate(Player player, int slot) {
         Objective objective = player.getScoreboard().getObjective(DisplaySlot.SIDEBAR);
         //don't override other scoreboards
         if (objective != null && SB_NAME.equals(objective.getName())) {
-            Iterator<VariableItem> iter = Settings.getMainScoreboard().getItemsByVariable().values().iterator();
-            while (iter.hasNext()) {
-                VariableItem variableItem = iter.next();
+            for (VariableItem variableItem : Settings.getMainScoreboard().getVariableItems()) {
+                if (!replaceManager.isDue(slot, variableItem)) {
+                    //this variable has its own refresh delay
+                    continue;
+                }
 
-                String variable = variableItem.getVariable();
                 String displayText = variableItem.getDisplayText();
-                int score = variableItem.getScore();
-
                 try {
-                    ReplaceEvent replaceEvent = replaceManager.getScore(player, variable, displayText, score, false);
+                    ReplaceEvent replaceEvent = replaceManager.getScore(player, slot, variableItem, false);
                     if (replaceEvent.isModified()) {
-                        sendScore(objective, displayText, replaceEvent.getScore(), false);
+                        replaceManager.onReplaced(slot, variableItem, replaceEvent.getScore());
+                        if (isChanged(slot, variableItem, replaceEvent.getScore())) {
+                            sendScore(objective, displayText, replaceEvent.getScore(), false);
+                        }
                     }
                 } catch (UnknownVariableException ex) {
                     //Remove the variable becaue we can't replace it
-                    iter.remove();
-                    Settings.getMainScoreboard().getItemsByName().remove(variableItem.getDisplayText());
+                    Settings.getMainScoreboard().remove(variableItem);
 
                     plugin.getLogger().info(Lang.get("unknownVariable", variableItem));
                 }
             }
+
+            for (VariableItem textItem : Settings.getMainScoreboard().getTextItems()) {
+                sendText(player, slot, textItem);
+            }
+
+            String title = renderTitle(player, slot, false);
+            if (title != null) {
+                objective.setDisplayName(title);
+            }
+        }
+    }
+
+    @Override
+    protected void replaceLine(Player player, String oldText, String newText, int score) {
+        Scoreboard scoreboard = player.getScoreboard();
+        Objective objective = scoreboard.getObjective(SB_NAME);
+        if (objective == null) {
+            return;
+        }
+
+        if (oldText != null) {
+            if (oldBukkit) {
+                scoreboard.resetScores(new FastOfflinePlayer(oldText));
+            } else {
+                scoreboard.resetScores(oldText);
+            }
+        }
+
+        //it's always a new entry
+        sendScore(objective, newText, score, true);
+    }
+
+    private void sendCachedScore(Player player, Objective objective, String title, int value, boolean complete) {
+        if (isChanged(player, title, value)) {
+            sendScore(objective, title, value, complete);
         }
     }
 
@@ -5,12 +5,12 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.events.PacketEvent;
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.scheduler.PluginScheduler;
 
 import java.util.Collection;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
 import org.bukkit.scoreboard.DisplaySlot;
 
 /**
@@ -31,6 +31,7 @@ public class PacketListener extends PacketAdapter {
     private static final PacketType TEAM_TYPE = PacketType.Play.Server.SCOREBOARD_TEAM;
 
     protected final PacketSbManager manager;
+    private final PluginScheduler scheduler;
 
     /**
      * Creates a new packet listener
@@ -38,10 +39,11 @@ public class PacketListener extends PacketAdapter {
      * @param plugin plugin for registration into ProtocolLib
      * @param manager packet manager instance
      */
-    public PacketListener(Plugin plugin, PacketSbManager manager) {
+    public PacketListener(ScoreboardStats plugin, PacketSbManager manager) {
         super(plugin, DISPLAY_TYPE, OBJECTIVE_TYPE, SCORE_TYPE);
 
         this.manager = manager;
+        this.scheduler = plugin.getScheduler();
     }
 
     @Override
@@ -56,7 +58,7 @@ public class PacketListener extends PacketAdapter {
 
         //everything was read from the packet, so we don't need to access it anymore
         //we could now run a sync thread to synchronize with async packets
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        scheduler.runForPlayer(player, () -> {
             if (packetType.equals(SCORE_TYPE)) {
                 handleScorePacket(player, packet);
             } else if (packetType.equals(OBJECTIVE_TYPE)) {
@@ -121,6 +123,8 @@ public class PacketListener extends PacketAdapter {
             //Could cause a NPE at the client if the objective wasn't found
             if (action == State.REMOVE) {
                 scoreboard.removeObjective(objectiveName);
+                //the sidebar could be free now
+                manager.onSidebarChange(player);
             } else if (action == State.UPDATE) {
                 objective.setDisplayName(displayName, false);
             }
@@ -146,6 +150,8 @@ public class PacketListener extends PacketAdapter {
                 scoreboard.clearSidebarObjective();
             }
         }
+
+        manager.onSidebarChange(player);
     }
 
     private void handleTeamPacket(Player player, PacketContainer packet) {
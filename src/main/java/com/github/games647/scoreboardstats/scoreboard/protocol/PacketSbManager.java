@@ -8,11 +8,8 @@ import com.github.games647.scoreboardstats.config.Settings;
 import com.github.games647.scoreboardstats.config.VariableItem;
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 import com.github.games647.scoreboardstats.variables.UnknownVariableException;
-import com.google.common.collect.Maps;
-
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.UUID;
 
 import org.bukkit.entity.Player;
 
@@ -21,7 +18,8 @@ import org.bukkit.entity.Player;
  */
 public class PacketSbManager extends SbManager {
 
-    private final Map<UUID, PlayerScoreboard> scoreboards = Maps.newHashMapWithExpectedSize(50);
+    //indexed by the slot of the player - a scoreboard is only accessed by the thread that owns the player
+    private volatile PlayerScoreboard[] scoreboards = new PlayerScoreboard[16];
 
     /**
      * Creates a new scoreboard manager for the packet system.
@@ -41,17 +39,63 @@ public class PacketSbManager extends SbManager {
      * @return the scoreboard instance
      */
     public PlayerScoreboard getScoreboard(Player player) {
-        return scoreboards
-                .computeIfAbsent(player.getUniqueId(), key -> new PlayerScoreboard(player));
+        return getScoreboard(player, plugin.getPlayerRegistry().getSlot(player));
+    }
+
+    /**
+     * Gets the scoreboard from a player.
+     *
+     * @param player who owns the scoreboard
+     * @param slot the slot of the player
+     * @return the scoreboard instance
+     */
+    public PlayerScoreboard getScoreboard(Player player, int slot) {
+        if (slot == -1) {
+            //the player isn't registered or left - the changes won't be sent anyway
+            return new PlayerScoreboard(player);
+        }
+
+        PlayerScoreboard[] current = scoreboards;
+        PlayerScoreboard scoreboard = slot < current.length ? current[slot] : null;
+        if (scoreboard == null || scoreboard.getOwner() != player) {
+            scoreboard = new PlayerScoreboard(player);
+            setScoreboard(slot, scoreboard);
+        }
+
+        return scoreboard;
     }
 
     @Override
-    public void onUpdate(Player player) {
-        Objective sidebar = getScoreboard(player).getSidebarObjective();
+    public void onUpdate(Player player, int slot) {
+        Objective sidebar = getScoreboard(player, slot).getSidebarObjective();
         if (sidebar == null) {
             createScoreboard(player);
         } else {
-            sendUpdate(player);
+            sendUpdate(player, slot);
+        }
+    }
+
+    @Override
+    public boolean canShowScoreboard(Player player) {
+        return canShowScoreboard(player, plugin.getPlayerRegistry().getSlot(player));
+    }
+
+    @Override
+    public boolean canShowScoreboard(Player player, int slot) {
+        Objective sidebar = getScoreboard(player, slot).getSidebarObjective();
+        return sidebar == null || SB_NAME.equals(sidebar.getName()) || LOADING_SB_NAME.equals(sidebar.getName());
+    }
+
+    /**
+     * Parks or resumes the updates of the player after the sidebar slot changed.
+     *
+     * @param player the player
+     */
+    public void onSidebarChange(Player player) {
+        if (canShowScoreboard(player)) {
+            plugin.getRefreshTask().resume(player);
+        } else {
+            plugin.getRefreshTask().park(player);
         }
     }
 
@@ -59,13 +103,23 @@ public class PacketSbManager extends SbManager {
     public void unregisterAll() {
         super.unregisterAll();
 
-        scoreboards.clear();
+        Arrays.fill(scoreboards, null);
     }
 
     @Override
     public void unregister(Player player) {
-        PlayerScoreboard scoreboard = scoreboards.remove(player.getUniqueId());
-        if (scoreboard != null) {
+        replaceManager.clearSchedule(player);
+        forgetScores(player);
+
+        int slot = plugin.getPlayerRegistry().getSlot(player);
+        PlayerScoreboard[] current = scoreboards;
+        if (slot == -1 || slot >= current.length) {
+            return;
+        }
+
+        PlayerScoreboard scoreboard = current[slot];
+        current[slot] = null;
+        if (scoreboard != null && scoreboard.getOwner() == player) {
             scoreboard.getObjectives().stream()
                     .filter(obj -> obj.getName().startsWith(SB_NAME))
                     .forEach(Objective::unregister);
@@ -76,32 +130,40 @@ public class PacketSbManager extends SbManager {
     public void createScoreboard(Player player) {
         PlayerScoreboard scoreboard = getScoreboard(player);
         Objective oldObjective = scoreboard.getSidebarObjective();
-        if (!isAllowed(player) || oldObjective != null && !TEMP_SB_NAME.equals(oldObjective.getName())) {
+        if (!isAllowed(player) || oldObjective != null && !isReplaceable(oldObjective.getName())) {
             //Check if another scoreboard is showing
             return;
         }
 
-        Objective objective = scoreboard.createSidebarObjective(SB_NAME, Settings.getMainScoreboard().getTitle(), true);
-        Iterator<VariableItem> iter = Settings.getMainScoreboard().getItemsByName().values().iterator();
-        while (iter.hasNext()) {
-            VariableItem scoreItem = iter.next();
+        //the client will receive a new objective without any items
+        forgetScores(player);
+        Objective objective = scoreboard.createSidebarObjective(SB_NAME, renderTitle(player, true), true);
+        Objective placeholder = scoreboard.getObjective(LOADING_SB_NAME);
+        if (placeholder != null) {
+            placeholder.unregister();
+        }
 
+        //our own packets are ignored by the packet listener
+        plugin.getRefreshTask().resume(player);
+        for (VariableItem scoreItem : Settings.getMainScoreboard().getItems()) {
             String displayText = scoreItem.getDisplayText();
             int defScore = scoreItem.getScore();
 
             String variable = scoreItem.getVariable();
-            if (variable == null) {
+            if (scoreItem.getTemplate() != null) {
+                sendText(player, scoreItem);
+            } else if (variable == null) {
                 update(player, displayText, defScore);
             } else {
                 try {
-                    ReplaceEvent replaceEvent = replaceManager.getScore(player, variable, displayText, defScore, true);
+                    ReplaceEvent replaceEvent = replaceManager.getScore(player, scoreItem, true);
+                    replaceManager.onReplaced(player, scoreItem, replaceEvent.getScore());
                     if (replaceEvent.isModified()) {
-                        sendScore(objective, displayText, replaceEvent.getScore());
+                        sendCachedScore(player, objective, displayText, replaceEvent.getScore());
                     }
                 } catch (UnknownVariableException ex) {
                     //Remove the variable becaue we can't replace it
-                    iter.remove();
-                    Settings.getMainScoreboard().getItemsByVariable().remove(scoreItem.getVariable());
+                    Settings.getMainScoreboard().remove(scoreItem);
 
                     plugin.getLogger().info(Lang.get("unknownVariable", scoreItem));
                 }
@@ -144,40 +206,83 @@ public class PacketSbManager extends SbManager {
         scheduleShowTask(player, false);
     }
 
+    @Override
+    public void createPlaceholder(Player player) {
+        PlayerScoreboard scoreboard = getScoreboard(player);
+        if (!isAllowed(player) || scoreboard.getSidebarObjective() != null) {
+            //Check if another scoreboard is showing
+            return;
+        }
+
+        Objective objective = scoreboard
+                .createSidebarObjective(LOADING_SB_NAME, Settings.getMainScoreboard().getTitle(), true);
+        sendScore(objective, stripLength(Lang.get("loadingScoreboard")), 0);
+    }
+
     @Override
     public void update(Player player, String itemName, int newScore) {
         PlayerScoreboard scoreboard = getScoreboard(player);
         Objective objective = scoreboard.getObjective(SB_NAME);
         if (objective != null) {
-            sendScore(objective, itemName, newScore);
+            sendCachedScore(player, objective, itemName, newScore);
         }
     }
 
     @Override
-    protected void sendUpdate(Player player) {
-        Objective sidebar = getScoreboard(player).getSidebarObjective();
+    protected void sendUpdate(Player player, int slot) {
+        Objective sidebar = getScoreboard(player, slot).getSidebarObjective();
         if (SB_NAME.equals(sidebar.getName())) {
-            Iterator<VariableItem> iter = Settings.getMainScoreboard().getItemsByVariable().values().iterator();
-            while (iter.hasNext()) {
-                VariableItem variableItem = iter.next();
+            for (VariableItem variableItem : Settings.getMainScoreboard().getVariableItems()) {
+                if (!replaceManager.isDue(slot, variableItem)) {
+                    //this variable has its own refresh delay
+                    continue;
+                }
 
-                String variable = variableItem.getVariable();
                 String displayText = variableItem.getDisplayText();
-                int score = variableItem.getScore();
-
                 try {
-                    ReplaceEvent replaceEvent = replaceManager.getScore(player, variable, displayText, score, false);
+                    ReplaceEvent replaceEvent = replaceManager.getScore(player, slot, variableItem, false);
                     if (replaceEvent.isModified()) {
-                        sendScore(sidebar, displayText, replaceEvent.getScore());
+                        replaceManager.onReplaced(slot, variableItem, replaceEvent.getScore());
+                        if (isChanged(slot, variableItem, replaceEvent.getScore())) {
+                            sendScore(sidebar, displayText, replaceEvent.getScore());
+                        }
                     }
                 } catch (UnknownVariableException ex) {
                     //Remove the variable becaue we can't replace it
-                    iter.remove();
-                    Settings.getMainScoreboard().getItemsByName().remove(variableItem.getDisplayText());
+                    Settings.getMainScoreboard().remove(variableItem);
 
                     plugin.getLogger().info(Lang.get("unknownVariable", variableItem));
                 }
             }
+
+            for (VariableItem textItem : Settings.getMainScoreboard().getTextItems()) {
+                sendText(player, slot, textItem);
+            }
+
+            String title = renderTitle(player, slot, false);
+            if (title != null) {
+                sidebar.setDisplayName(title);
+            }
+        }
+    }
+
+    @Override
+    protected void replaceLine(Player player, String oldText, String newText, int score) {
+        Objective objective = getScoreboard(player).getObjective(SB_NAME);
+        if (objective == null) {
+            return;
+        }
+
+        if (oldText != null) {
+            objective.unregisterItem(oldText);
+        }
+
+        sendScore(objective, newText, score);
+    }
+
+    private void sendCachedScore(Player player, Objective objective, String title, int value) {
+        if (isChanged(player, title, value)) {
+            sendScore(objective, title, value);
         }
     }
 
@@ -189,4 +294,12 @@ public class PacketSbManager extends SbManager {
             item.setScore(value);
         }
     }
+
+    private synchronized void setScoreboard(int slot, PlayerScoreboard scoreboard) {
+        if (slot >= scoreboards.length) {
+            scoreboards = Arrays.copyOf(scoreboards, Math.max(slot + 1, scoreboards.length * 2));
+        }
+
+        scoreboards[slot] = scoreboard;
+    }
 }
@@ -0,0 +1,304 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.VariableItem;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Evaluates thread-safe replacers outside of the main thread. All requests of a tick are evaluated together in one
+ * async task and the results have to be committed on the thread that owns the player.
+ *
+ * @see VariableReplaceAdapter#isAsync()
+ * @see BatchReplacer
+ */
+public class AsyncEvaluator {
+
+    private final ScoreboardStats plugin;
+
+    //the requests come from the threads that own the players
+    private final Set<Request> inProgress = Sets.newHashSet();
+    private List<Request> pending = Lists.newArrayList();
+
+    private final Queue<Request> completed = new ConcurrentLinkedQueue<>();
+
+    //variables with a batch that is evaluated at the moment
+    private final Set<String> batchesInProgress = Sets.newHashSet();
+    private List<BatchRequest> pendingBatches = Lists.newArrayList();
+
+    private final Queue<BatchRequest> completedBatches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new evaluator
+     *
+     * @param plugin the plugin that owns the async tasks
+     */
+    public AsyncEvaluator(ScoreboardStats plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues a replace for the next flush. If the same variable for this player is already evaluated, it will
+     * be ignored.
+     *
+     * @param player the associated player or null if it's a global variable
+     * @param variable the variable
+     * @param displayText the display name of the scoreboard item
+     * @param score the score of the scoreboard item
+     * @param replacer the thread-safe replacer
+     * @param accessor the replacer that is bound to this variable
+     */
+    public synchronized void submit(Player player, String variable, String displayText, int score
+            , VariableReplaceAdapter<?> replacer, VariableReplacer accessor) {
+        ReplaceEvent replaceEvent = new ReplaceEvent(variable, false, displayText, score);
+        Request request = new Request(player, variable, replacer, accessor, replaceEvent);
+        if (inProgress.add(request)) {
+            pending.add(request);
+        }
+    }
+
+    /**
+     * Queues a batch replace for the next flush. If a batch of the same variable is still evaluated, it will be
+     * ignored and the players will be included in the next one. The arrays are copied.
+     *
+     * @param variableItem the scoreboard item of the variable
+     * @param players the due players. Only the first <code>length</code> entries are valid
+     * @param length the number of players
+     * @param scores the current scores by the index of the player
+     * @param replacer the thread-safe replacer
+     * @param accessor the batch replacer that is bound to this variable
+     * @return true if the batch was queued
+     */
+    public synchronized boolean submitBatch(VariableItem variableItem, Player[] players, int length, int[] scores
+            , VariableReplaceAdapter<?> replacer, BatchReplacer accessor) {
+        if (!batchesInProgress.add(variableItem.getVariable())) {
+            return false;
+        }
+
+        pendingBatches.add(new BatchRequest(variableItem, Arrays.copyOf(players, length), length
+                , Arrays.copyOf(scores, length), replacer, accessor));
+        return true;
+    }
+
+    /**
+     * Starts the evaluation of all queued requests in a single async task.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty() && pendingBatches.isEmpty()) {
+            return;
+        }
+
+        List<Request> requests = pending;
+        List<BatchRequest> batches = pendingBatches;
+        pending = Lists.newArrayList();
+        pendingBatches = Lists.newArrayList();
+        plugin.getScheduler().runAsync(() -> {
+            batches.forEach(this::evaluate);
+            requests.forEach(this::evaluate);
+        });
+    }
+
+    /**
+     * Get the next evaluated request. The results have to be committed on the thread that owns the player.
+     *
+     * @return the next evaluated request or null if there is no one left
+     */
+    public synchronized Request poll() {
+        Request request = completed.poll();
+        if (request != null) {
+            inProgress.remove(request);
+        }
+
+        return request;
+    }
+
+    /**
+     * Get the next evaluated batch. The results have to be committed on the threads that own the players.
+     *
+     * @return the next evaluated batch or null if there is no one left
+     */
+    public synchronized BatchRequest pollBatch() {
+        BatchRequest batch = completedBatches.poll();
+        if (batch != null) {
+            batchesInProgress.remove(batch.variableItem.getVariable());
+        }
+
+        return batch;
+    }
+
+    private void evaluate(BatchRequest batch) {
+        long start = System.nanoTime();
+        try {
+            batch.accessor.onReplace(batch.players, batch.length, batch.scores);
+        } catch (LinkageError | Exception replacerException) {
+            batch.error = replacerException;
+        }
+
+        batch.nanos = System.nanoTime() - start;
+
+        completedBatches.add(batch);
+    }
+
+    private void evaluate(Request request) {
+        long start = System.nanoTime();
+        try {
+            request.accessor.onReplace(request.player, request.variable, request.replaceEvent);
+        } catch (LinkageError | Exception replacerException) {
+            request.error = replacerException;
+        }
+
+        request.nanos = System.nanoTime() - start;
+
+        completed.add(request);
+    }
+
+    /**
+     * Represents a single async replace
+     */
+    public static class Request {
+
+        private final Player player;
+        private final String variable;
+        private final VariableReplaceAdapter<?> replacer;
+        private final VariableReplacer accessor;
+        private final ReplaceEvent replaceEvent;
+
+        private Throwable error;
+        private long nanos;
+
+        Request(Player player, String variable, VariableReplaceAdapter<?> replacer, VariableReplacer accessor
+                , ReplaceEvent replaceEvent) {
+            this.player = player;
+            this.variable = variable;
+            this.replacer = replacer;
+            this.accessor = accessor;
+            this.replaceEvent = replaceEvent;
+        }
+
+        public Player getPlayer() {
+            return player;
+        }
+
+        public String getVariable() {
+            return variable;
+        }
+
+        public VariableReplaceAdapter<?> getReplacer() {
+            return replacer;
+        }
+
+        public ReplaceEvent getReplaceEvent() {
+            return replaceEvent;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * Get the duration of the replace
+         *
+         * @return the duration in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = player == null ? 0 : player.hashCode();
+            return 31 * hash + variable.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Request)) {
+                return false;
+            }
+
+            Request other = (Request) obj;
+            return player == other.player && variable.equals(other.variable);
+        }
+    }
+
+    /**
+     * Represents an async replace of a variable for many players at once
+     */
+    public static class BatchRequest {
+
+        private final VariableItem variableItem;
+        private final Player[] players;
+        private final int length;
+        private final int[] scores;
+        private final VariableReplaceAdapter<?> replacer;
+        private final BatchReplacer accessor;
+
+        private Throwable error;
+        private long nanos;
+
+        BatchRequest(VariableItem variableItem, Player[] players, int length, int[] scores
+                , VariableReplaceAdapter<?> replacer, BatchReplacer accessor) {
+            this.variableItem = variableItem;
+            this.players = players;
+            this.length = length;
+            this.scores = scores;
+            this.replacer = replacer;
+            this.accessor = accessor;
+        }
+
+        public VariableItem getVariableItem() {
+            return variableItem;
+        }
+
+        /**
+         * Get the players of this batch. Only the first {@link #getLength()} entries are valid.
+         *
+         * @return the players
+         */
+        public Player[] getPlayers() {
+            return players;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Get the results by the index of the player
+         *
+         * @return the results
+         */
+        public int[] getScores() {
+            return scores;
+        }
+
+        public VariableReplaceAdapter<?> getReplacer() {
+            return replacer;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * Get the duration of the whole batch
+         *
+         * @return the duration in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
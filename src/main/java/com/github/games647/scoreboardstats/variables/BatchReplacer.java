@@ -0,0 +1,23 @@
+package com.github.games647.scoreboardstats.variables;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Represents a replacer that can resolve a variable for many players in a single call, for example with one
+ * database query or a single lookup of a shared map.
+ *
+ * @see VariableReplaceAdapter#bindBatch(String)
+ */
+@FunctionalInterface
+public interface BatchReplacer {
+
+    /**
+     * Called once per refresh cycle with all players whose scoreboard contains the variable and is due.
+     *
+     * @param players the players who own the scoreboards. Only the first <code>length</code> entries are valid
+     * @param length the number of players
+     * @param scores the results by the index of the player. Every entry is initialized with the current score
+     *               of the scoreboard item
+     */
+    void onReplace(Player[] players, int length, int[] scores);
+}
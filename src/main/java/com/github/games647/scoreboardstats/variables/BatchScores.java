@@ -0,0 +1,111 @@
+package com.github.games647.scoreboardstats.variables;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the results of batch replacers until the scoreboard of the player is refreshed. A result is only used once
+ * and only in the refresh cycle it was resolved for or the next one, if the player was carried over.
+ *
+ * The entries are saved by the slot of the player and the index of the scoreboard item.
+ *
+ * @see BatchReplacer
+ * @see com.github.games647.scoreboardstats.PlayerRegistry
+ */
+public class BatchScores {
+
+    private static final int MAX_LINES = Integer.SIZE;
+
+    private volatile Lines[] entries = new Lines[16];
+
+    //0 marks an empty entry
+    private volatile int generation = 1;
+
+    /**
+     * Starts a new refresh cycle. The results of the cycle before the last one expire.
+     */
+    public void nextGeneration() {
+        generation++;
+    }
+
+    /**
+     * Saves the result for the next refresh of this player.
+     *
+     * @param slot the slot of the player
+     * @param line the index of the scoreboard item
+     * @param score the resolved score
+     */
+    public void put(int slot, int line, int score) {
+        if (slot < 0 || line >= MAX_LINES) {
+            return;
+        }
+
+        Lines lines = getOrCreate(slot);
+        lines.scores[line] = score;
+        lines.generations[line] = generation;
+    }
+
+    /**
+     * Applies and removes the saved result if there is one.
+     *
+     * @param slot the slot of the player
+     * @param line the index of the scoreboard item
+     * @param replaceEvent the event of the player
+     * @return true if a result was applied
+     */
+    public boolean apply(int slot, int line, ReplaceEvent replaceEvent) {
+        Lines[] current = entries;
+        if (slot < 0 || slot >= current.length || line >= MAX_LINES || current[slot] == null) {
+            return false;
+        }
+
+        Lines lines = current[slot];
+        int resultGeneration = lines.generations[line];
+        if (resultGeneration == 0 || generation - resultGeneration > 1) {
+            return false;
+        }
+
+        lines.generations[line] = 0;
+        replaceEvent.setScore(lines.scores[line]);
+        return true;
+    }
+
+    /**
+     * Removes all results of this player
+     *
+     * @param slot the slot of the player
+     */
+    public void remove(int slot) {
+        Lines[] current = entries;
+        if (slot >= 0 && slot < current.length && current[slot] != null) {
+            Arrays.fill(current[slot].generations, 0);
+        }
+    }
+
+    private Lines getOrCreate(int slot) {
+        Lines[] current = entries;
+        if (slot < current.length && current[slot] != null) {
+            return current[slot];
+        }
+
+        //the entry would be lost if another thread grows the array at the same time
+        synchronized (this) {
+            if (slot >= entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(slot + 1, entries.length * 2));
+            }
+
+            Lines lines = entries[slot];
+            if (lines == null) {
+                lines = new Lines();
+                entries[slot] = lines;
+            }
+
+            return lines;
+        }
+    }
+
+    private static class Lines {
+
+        private final int[] scores = new int[MAX_LINES];
+        private final int[] generations = new int[MAX_LINES];
+    }
+}
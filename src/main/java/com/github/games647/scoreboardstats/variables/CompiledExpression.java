@@ -0,0 +1,75 @@
+package com.github.games647.scoreboardstats.variables;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An expression that is parsed once together with the variables it depends on.
+ *
+ * @see ExpressionParser#compile(String)
+ */
+public class CompiledExpression {
+
+    private final String source;
+    private final String[] inputs;
+    private final Expression expression;
+
+    CompiledExpression(String source, String[] inputs, Expression expression) {
+        this.source = source;
+        this.inputs = inputs;
+        this.expression = expression;
+    }
+
+    /**
+     * Get the expression like it's written in the config
+     *
+     * @return the source text
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Get the variables this expression depends on. Every variable is only listed once.
+     *
+     * @return the variables <b>without the variable identifiers (%)</b>
+     */
+    public List<String> getInputs() {
+        return Arrays.asList(inputs);
+    }
+
+    /**
+     * Get the number of input variables
+     *
+     * @return the number of inputs
+     */
+    public int getInputCount() {
+        return inputs.length;
+    }
+
+    /**
+     * Get a single input variable
+     *
+     * @param index the index of the input
+     * @return the variable <b>without the variable identifiers (%)</b>
+     */
+    public String getInput(int index) {
+        return inputs[index];
+    }
+
+    /**
+     * Evaluates the expression. A division by zero results in zero.
+     *
+     * @param values the values of the inputs in the same order
+     * @return the result, which is limited to the range of an int
+     */
+    public int evaluate(long[] values) {
+        long result = expression.evaluate(values);
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, result));
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledExpression{" + "source=" + source + ", inputs=" + Arrays.toString(inputs) + '}';
+    }
+}
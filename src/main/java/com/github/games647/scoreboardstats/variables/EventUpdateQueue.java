@@ -0,0 +1,193 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Lang;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Collects the variables that have to be updated after events. The queue is drained once per tick, so all events of
+ * the same player and variable until then only cause a single replace. Every event of a burst postpones the update
+ * by another window, but not further than {@link #MAX_WINDOWS} windows after the first event. The due variables of
+ * a player are replaced together and sent in one batch.
+ *
+ * @see EventVariableExecutor
+ */
+public class EventUpdateQueue {
+
+    /**
+     * The maximum delay of an update in windows, so a steady stream of events still updates the scoreboard
+     */
+    public static final int MAX_WINDOWS = 4;
+
+    private final ScoreboardStats plugin;
+    private final ReplaceManager replaceManager;
+
+    //only counted by the drain - the events read it to calculate the due tick
+    private volatile long tick;
+
+    //the player instance identifies the session, so updates of a player who left are dropped
+    private final Map<UUID, PlayerUpdates> players = Maps.newConcurrentMap();
+    private final Map<String, Update> globals = Maps.newConcurrentMap();
+
+    /**
+     * Creates a new queue
+     *
+     * @param plugin ScoreboardStats plugin
+     * @param replaceManager to send the new scores
+     */
+    public EventUpdateQueue(ScoreboardStats plugin, ReplaceManager replaceManager) {
+        this.plugin = plugin;
+        this.replaceManager = replaceManager;
+    }
+
+    /**
+     * Queues an update of the variable of this executor. If the variable of this player is already queued, the update
+     * is postponed until the maximum delay is reached. This have to be called from the thread that owns the player.
+     *
+     * @param player the player of the event or null if the variable is updated for all players
+     * @param executor the executor of the event
+     */
+    public void queue(Player player, EventVariableExecutor executor) {
+        if (player == null) {
+            queue(globals, executor);
+            return;
+        }
+
+        UUID uuid = player.getUniqueId();
+        PlayerUpdates updates = players.get(uuid);
+        if (updates == null || updates.player != player) {
+            //first event of this session
+            updates = new PlayerUpdates(player);
+            players.put(uuid, updates);
+        }
+
+        queue(updates.variables, executor);
+    }
+
+    private void queue(Map<String, Update> pending, EventVariableExecutor executor) {
+        long now = tick;
+        Update update = pending.get(executor.variable);
+        if (update == null) {
+            update = new Update(executor, now + executor.window, now + executor.window * MAX_WINDOWS);
+            update = pending.putIfAbsent(executor.variable, update);
+        }
+
+        if (update != null) {
+            //wait until the burst is over
+            update.postpone(now + executor.window);
+        }
+    }
+
+    /**
+     * Removes all queued updates of this player
+     *
+     * @param player the player who left
+     */
+    public void remove(Player player) {
+        PlayerUpdates updates = players.get(player.getUniqueId());
+        if (updates != null && updates.player == player) {
+            players.remove(player.getUniqueId(), updates);
+        }
+    }
+
+    /**
+     * Replaces the due variables and sends them. This have to be called once per tick. The variables of the
+     * players are replaced on the threads that own them.
+     */
+    public void drain() {
+        long now = tick + 1;
+        tick = now;
+
+        List<Update> dueGlobals = removeDue(globals, now);
+        if (dueGlobals != null) {
+            replaceManager.updateScores(replace(null, dueGlobals));
+        }
+
+        for (PlayerUpdates updates : players.values()) {
+            if (updates.variables.isEmpty()) {
+                continue;
+            }
+
+            List<Update> due = removeDue(updates.variables, now);
+            if (due != null) {
+                Player player = updates.player;
+                plugin.getScheduler().runForPlayer(player, () -> {
+                    //the player could have left or joined again in the meanwhile
+                    if (players.get(player.getUniqueId()) == updates) {
+                        replaceManager.updateScores(player, replace(player, due));
+                    }
+                });
+            }
+        }
+    }
+
+    private List<Update> removeDue(Map<String, Update> pending, long now) {
+        List<Update> due = null;
+        for (Map.Entry<String, Update> entry : pending.entrySet()) {
+            Update update = entry.getValue();
+            if (update.dueTick <= now && pending.remove(entry.getKey(), update)) {
+                if (due == null) {
+                    due = Lists.newArrayList();
+                }
+
+                due.add(update);
+            }
+        }
+
+        return due;
+    }
+
+    private Map<String, Integer> replace(Player player, List<Update> due) {
+        Map<String, Integer> scores = Maps.newHashMapWithExpectedSize(due.size());
+        for (Update update : due) {
+            EventVariableExecutor executor = update.executor;
+            ReplaceEvent replaceEvent = replaceManager.reuseEvent(executor.variable, "", 0);
+            try {
+                executor.replacer.onReplace(player, executor.variable, replaceEvent);
+                scores.put(executor.variable, replaceEvent.getScore());
+            } catch (Exception ex) {
+                //the other variables of the batch can still be sent
+                plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", executor.replacer), ex);
+            }
+        }
+
+        return scores;
+    }
+
+    private static class PlayerUpdates {
+
+        private final Player player;
+        private final Map<String, Update> variables = Maps.newConcurrentMap();
+
+        PlayerUpdates(Player player) {
+            this.player = player;
+        }
+    }
+
+    private static class Update {
+
+        private final EventVariableExecutor executor;
+        private final long maxDueTick;
+
+        //moved by the events while the drain reads it
+        private volatile long dueTick;
+
+        Update(EventVariableExecutor executor, long dueTick, long maxDueTick) {
+            this.executor = executor;
+            this.dueTick = dueTick;
+            this.maxDueTick = maxDueTick;
+        }
+
+        void postpone(long newDueTick) {
+            dueTick = Math.min(Math.max(dueTick, newDueTick), maxDueTick);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.github.games647.scoreboardstats.variables;
 
 import com.github.games647.scoreboardstats.ScoreboardStats;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventException;
@@ -10,34 +9,46 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerEvent;
 import org.bukkit.plugin.EventExecutor;
 
+/**
+ * Updates a variable after an event. All events for the same player and variable that are fired until the update
+ * runs are merged into a single update. The update runs one window after the last event of a burst, but at most
+ * {@link EventUpdateQueue#MAX_WINDOWS} windows after the first one, so frequent events like moves only trigger a
+ * few replaces.
+ *
+ * @see EventUpdateQueue
+ */
 public class EventVariableExecutor implements EventExecutor {
 
     protected final ScoreboardStats plugin;
     protected final VariableReplacer replacer;
     protected final String variable;
 
+    //the ticks without another event before the update runs
+    protected final long window;
+
     public EventVariableExecutor(ScoreboardStats plugin, VariableReplacer replacer, String variable) {
+        this(plugin, replacer, variable, 1L);
+    }
+
+    /**
+     * Creates a new executor.
+     *
+     * @param plugin ScoreboardStats plugin
+     * @param replacer the replacer of the variable
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @param window the ticks to wait for more events before updating. At least one tick.
+     */
+    public EventVariableExecutor(ScoreboardStats plugin, VariableReplacer replacer, String variable, long window) {
         this.plugin = plugin;
         this.replacer = replacer;
         this.variable = variable;
+        this.window = Math.max(1, window);
     }
 
     @Override
-    public void execute(Listener listener, final Event event) throws EventException {
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            Player eventPlayer = null;
-            if (event instanceof PlayerEvent) {
-                eventPlayer = ((PlayerEvent) event).getPlayer();
-            }
-            
-            ReplaceEvent replaceEvent = new ReplaceEvent(variable, false, "", 0);
-            replacer.onReplace(eventPlayer, variable, replaceEvent);
-            
-            if (eventPlayer == null) {
-                plugin.getReplaceManager().updateScore(variable, replaceEvent.getScore());
-            } else {
-                plugin.getReplaceManager().updateScore(eventPlayer, variable, replaceEvent.getScore());
-            }
-        });
+    public void execute(Listener listener, Event event) throws EventException {
+        //run it after the event, so the replacer sees the changes
+        Player player = event instanceof PlayerEvent ? ((PlayerEvent) event).getPlayer() : null;
+        plugin.getReplaceManager().getEventUpdates().queue(player, this);
     }
 }
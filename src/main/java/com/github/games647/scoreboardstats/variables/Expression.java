@@ -0,0 +1,19 @@
+package com.github.games647.scoreboardstats.variables;
+
+/**
+ * Represents a compiled arithmetic expression. The values of the variables are passed in the order of
+ * {@link CompiledExpression#getInputs()}.
+ *
+ * @see ExpressionParser
+ */
+@FunctionalInterface
+public interface Expression {
+
+    /**
+     * Evaluates this expression
+     *
+     * @param values the values of the input variables
+     * @return the result
+     */
+    long evaluate(long[] values);
+}
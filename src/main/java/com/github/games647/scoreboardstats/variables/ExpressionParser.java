@@ -0,0 +1,263 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses arithmetic expressions like <code>kills * 100 / max(deaths, 1)</code> into a tree of lambdas. Parts
+ * without variables are calculated once while parsing.
+ *
+ * Supported are integers, variables (optionally with the variable identifiers %), the operators + - * / % with
+ * the usual precedence, parentheses and the functions min, max and abs.
+ */
+public class ExpressionParser {
+
+    /**
+     * Parses and compiles the expression.
+     *
+     * @param source the expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static CompiledExpression compile(String source) throws IllegalArgumentException {
+        ExpressionParser parser = new ExpressionParser(source);
+        Expression expression = parser.parseSum();
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Unexpected character");
+        }
+
+        return new CompiledExpression(source, parser.inputs.toArray(new String[0]), expression);
+    }
+
+    private final String source;
+    private final List<String> inputs = Lists.newArrayList();
+
+    private int position;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    private Expression parseSum() {
+        Expression left = parseProduct();
+        while (true) {
+            if (consume('+')) {
+                left = combine(left, parseProduct(), '+');
+            } else if (consume('-')) {
+                left = combine(left, parseProduct(), '-');
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseProduct() {
+        Expression left = parseUnary();
+        while (true) {
+            if (consume('*')) {
+                left = combine(left, parseUnary(), '*');
+            } else if (consume('/')) {
+                left = combine(left, parseUnary(), '/');
+            } else if (consume('%')) {
+                left = combine(left, parseUnary(), '%');
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression combine(Expression left, Expression right, char operator) {
+        switch (operator) {
+            case '+':
+                return fold(left, right, values -> left.evaluate(values) + right.evaluate(values));
+            case '-':
+                return fold(left, right, values -> left.evaluate(values) - right.evaluate(values));
+            case '*':
+                return fold(left, right, values -> left.evaluate(values) * right.evaluate(values));
+            case '/':
+                return fold(left, right, values -> {
+                    long divisor = right.evaluate(values);
+                    return divisor == 0 ? 0 : left.evaluate(values) / divisor;
+                });
+            case '%':
+                return fold(left, right, values -> {
+                    long divisor = right.evaluate(values);
+                    return divisor == 0 ? 0 : left.evaluate(values) % divisor;
+                });
+            default:
+                throw error("Unknown operator " + operator);
+        }
+    }
+
+    private Expression parseUnary() {
+        if (consume('-')) {
+            Expression operand = parseUnary();
+            return fold(operand, operand, values -> -operand.evaluate(values));
+        }
+
+        return parsePrimary();
+    }
+
+    private Expression parsePrimary() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end");
+        }
+
+        char character = source.charAt(position);
+        if (consume('(')) {
+            Expression expression = parseSum();
+            expect(')');
+            return expression;
+        }
+
+        if (Character.isDigit(character)) {
+            int start = position;
+            while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+
+            try {
+                return new Constant(Long.parseLong(source.substring(start, position)));
+            } catch (NumberFormatException numberFormatException) {
+                throw error("Number is too big");
+            }
+        }
+
+        if (character == '%') {
+            //variable with the variable identifiers - these can contain other characters like -
+            int end = source.indexOf('%', position + 1);
+            if (end == -1 || end == position + 1) {
+                throw error("Missing variable identifier");
+            }
+
+            String variable = source.substring(position + 1, end);
+            position = end + 1;
+            return variable(variable);
+        }
+
+        if (isNameCharacter(character)) {
+            int start = position;
+            while (position < source.length() && isNameCharacter(source.charAt(position))) {
+                position++;
+            }
+
+            String name = source.substring(start, position);
+            skipWhitespace();
+            if (position < source.length() && source.charAt(position) == '(') {
+                position++;
+                return parseFunction(name.toLowerCase(Locale.ENGLISH));
+            }
+
+            return variable(name);
+        }
+
+        throw error("Unexpected character");
+    }
+
+    private Expression parseFunction(String name) {
+        List<Expression> arguments = Lists.newArrayList();
+        do {
+            arguments.add(parseSum());
+        } while (consume(','));
+
+        expect(')');
+
+        Expression first = arguments.get(0);
+        switch (name) {
+            case "abs":
+                if (arguments.size() != 1) {
+                    throw error("abs has exactly one argument");
+                }
+
+                return fold(first, first, values -> Math.abs(first.evaluate(values)));
+            case "min":
+            case "max":
+                boolean min = "min".equals(name);
+                Expression result = first;
+                for (Expression argument : arguments.subList(1, arguments.size())) {
+                    Expression left = result;
+                    if (min) {
+                        result = fold(left, argument, values
+                                -> Math.min(left.evaluate(values), argument.evaluate(values)));
+                    } else {
+                        result = fold(left, argument, values
+                                -> Math.max(left.evaluate(values), argument.evaluate(values)));
+                    }
+                }
+
+                return result;
+            default:
+                throw error("Unknown function " + name);
+        }
+    }
+
+    private Expression variable(String name) {
+        //Prevent case-sensitive mistakes
+        String variable = name.toLowerCase(Locale.ENGLISH);
+        int index = inputs.indexOf(variable);
+        if (index == -1) {
+            index = inputs.size();
+            inputs.add(variable);
+        }
+
+        int inputIndex = index;
+        return values -> values[inputIndex];
+    }
+
+    private Expression fold(Expression left, Expression right, Expression operation) {
+        if (left instanceof Constant && right instanceof Constant) {
+            //doesn't depend on any variable
+            return new Constant(operation.evaluate(null));
+        }
+
+        return operation;
+    }
+
+    private boolean isNameCharacter(char character) {
+        return Character.isLetterOrDigit(character) || character == '_' || character == '.';
+    }
+
+    private boolean consume(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error("Expected " + expected);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + (position + 1) + " in " + source);
+    }
+
+    private static class Constant implements Expression {
+
+        private final long value;
+
+        Constant(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long evaluate(long[] values) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.games647.scoreboardstats.variables;
+
+/**
+ * Parses the scores out of texts from other plugins without creating any objects. Color codes, whitespace around
+ * the number and thousands separators (<code>,</code> <code>_</code> <code>'</code> and spaces between digits) are
+ * ignored. The digits after a decimal point are cut off.
+ */
+public class NumberParser {
+
+    /**
+     * Returned by {@link #parse(CharSequence)} if the text isn't a number
+     */
+    public static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    private static final char COLOR_CHAR = '\u00A7';
+    private static final char NO_BREAK_SPACE = '\u00A0';
+
+    //more digits would overflow the long, but is out of the int range anyway
+    private static final long MAX_VALUE = Long.MAX_VALUE / 10;
+
+    /**
+     * Parses the text to an int. Numbers out of the int range are clamped to the nearest int.
+     *
+     * @param text the text from another plugin
+     * @param fallback the value if the text isn't a number
+     * @return the parsed number or the fallback
+     */
+    public static int parseInt(CharSequence text, int fallback) {
+        long number = parse(text);
+        if (number == NOT_A_NUMBER) {
+            return fallback;
+        }
+
+        return toInt(number);
+    }
+
+    /**
+     * Clamps the parsed number to the int range
+     *
+     * @param number the parsed number
+     * @return the nearest int
+     */
+    public static int toInt(long number) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, number));
+    }
+
+    /**
+     * Parses the text to a number.
+     *
+     * @param text the text from another plugin
+     * @return the parsed number or {@link #NOT_A_NUMBER} if the text isn't a number
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            return NOT_A_NUMBER;
+        }
+
+        int length = text.length();
+        int index = skipIgnored(text, 0, length);
+        boolean negative = false;
+        if (index < length && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index = skipIgnored(text, index + 1, length);
+        }
+
+        long number = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; index < length; index++) {
+            char current = text.charAt(index);
+            if (current == COLOR_CHAR) {
+                //skip the color code too
+                index++;
+            } else if (current >= '0' && current <= '9') {
+                if (!fraction && number < MAX_VALUE) {
+                    number = number * 10 + current - '0';
+                }
+
+                digits++;
+            } else if (current == '.' && !fraction && digits > 0) {
+                fraction = true;
+            } else if (!isSeparator(current) || fraction || digits == 0 || !isDigitAfter(text, index + 1, length)) {
+                //not a thousands separator
+                break;
+            }
+        }
+
+        //only ignored characters can follow the number
+        if (digits == 0 || skipIgnored(text, index, length) != length) {
+            return NOT_A_NUMBER;
+        }
+
+        return negative ? -number : number;
+    }
+
+    private static int skipIgnored(CharSequence text, int index, int length) {
+        while (index < length) {
+            char current = text.charAt(index);
+            if (current == COLOR_CHAR) {
+                index += 2;
+            } else if (Character.isWhitespace(current) || current == NO_BREAK_SPACE) {
+                index++;
+            } else {
+                break;
+            }
+        }
+
+        return Math.min(index, length);
+    }
+
+    private static boolean isSeparator(char character) {
+        return character == ',' || character == '_' || character == '\''
+                || character == ' ' || character == NO_BREAK_SPACE;
+    }
+
+    private static boolean isDigitAfter(CharSequence text, int index, int length) {
+        //color codes can be between the separator and the digits
+        while (index + 1 < length && text.charAt(index) == COLOR_CHAR) {
+            index += 2;
+        }
+
+        return index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9';
+    }
+
+    private NumberParser() {
+        //utility class
+    }
+}
@@ -1,13 +1,11 @@
 package com.github.games647.scoreboardstats.variables;
 
-import java.util.Iterator;
 import java.util.Map;
 
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.PluginEnableEvent;
-import org.bukkit.plugin.Plugin;
 
 /**
  * Keeps track of plugin disables and enables. It will register default replacers
@@ -34,7 +32,7 @@ public class PluginListener implements Listener {
         defaults.entrySet().forEach(entry -> {
             String pluginName = entry.getValue();
             if (enablePluginName.equals(entry.getValue())) {
-                replaceManager.registerDefault(entry.getKey(), pluginName);
+                replaceManager.enableDefault(entry.getKey(), pluginName);
             }
         });
     }
@@ -48,14 +46,6 @@ public class PluginListener implements Listener {
     public void onPluginDisable(PluginDisableEvent disableEvent) {
         //Remove the listener if the associated plugin was disabled
         String disablePluginName = disableEvent.getPlugin().getName();
-
-        Map<String, VariableReplaceAdapter<? extends Plugin>> specificReplacers = replaceManager.getReplacers();
-        Iterator<VariableReplaceAdapter<? extends Plugin>> iterator = specificReplacers.values().iterator();
-        while (iterator.hasNext()) {
-            Plugin plugin = iterator.next().getPlugin();
-            if (plugin != null && plugin.getName().equals(disablePluginName)) {
-                iterator.remove();
-            }
-        }
+        replaceManager.unregisterAll(disablePluginName);
     }
 }
@@ -0,0 +1,177 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Prefix tree of wildcard variables like {@code meta_*}. A variable is resolved to the value of the longest
+ * registered prefix, so the lookup costs only one step per character of the variable.
+ *
+ * Lookups are lock free, modifications are synchronized.
+ *
+ * @param <V> the type of the stored values
+ */
+public class PrefixIndex<V> {
+
+    private final Node<V> root = new Node<>();
+
+    /**
+     * Get the prefix of a wildcard variable
+     *
+     * @param wildcard the variable with a wildcard
+     * @return all characters before the wildcard
+     */
+    public static String getPrefix(String wildcard) {
+        int wildcardIndex = wildcard.indexOf('*');
+        if (wildcardIndex == -1) {
+            return wildcard;
+        }
+
+        return wildcard.substring(0, wildcardIndex);
+    }
+
+    /**
+     * Associates the value with this prefix.
+     *
+     * @param prefix the prefix without the wildcard
+     * @param value the value
+     * @return the previous value of this exact prefix or null
+     */
+    public synchronized V put(String prefix, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), key -> new Node<>());
+        }
+
+        V oldValue = node.value;
+        node.value = value;
+        return oldValue;
+    }
+
+    /**
+     * Get the values of all registered prefixes that are a prefix or an extension of this prefix. The longer prefix
+     * takes the variables of the shorter one that match both.
+     *
+     * @param prefix the prefix without the wildcard
+     * @return the values by their prefix - the value of this exact prefix isn't included
+     */
+    public synchronized Map<String, V> getOverlapping(String prefix) {
+        Map<String, V> overlapping = Maps.newLinkedHashMap();
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            if (node.value != null) {
+                overlapping.put(prefix.substring(0, i), node.value);
+            }
+
+            node = node.children.get(prefix.charAt(i));
+        }
+
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), overlapping);
+        }
+
+        return overlapping;
+    }
+
+    /**
+     * Finds the value of the longest prefix of this variable.
+     *
+     * @param variable the complete variable
+     * @return the found value or null if no prefix matches
+     */
+    public V find(String variable) {
+        Node<V> node = root;
+        V found = node.value;
+        for (int i = 0; i < variable.length(); i++) {
+            node = node.children.get(variable.charAt(i));
+            if (node == null) {
+                break;
+            }
+
+            if (node.value != null) {
+                found = node.value;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Get all distinct values of this index
+     *
+     * @return the values in no specific order
+     */
+    public synchronized Collection<V> values() {
+        Set<V> values = Sets.newLinkedHashSet();
+        collectValues(root, values);
+        return values;
+    }
+
+    /**
+     * Removes all values that match the filter
+     *
+     * @param filter the filter for the values which should be removed
+     * @return true if a value was removed
+     */
+    public synchronized boolean removeIf(Predicate<? super V> filter) {
+        return removeIf(root, filter);
+    }
+
+    /**
+     * Removes all values
+     */
+    public synchronized void clear() {
+        root.children.clear();
+        root.value = null;
+    }
+
+    private void collect(Node<V> node, StringBuilder path, Map<String, V> target) {
+        for (Map.Entry<Character, Node<V>> entry : node.children.entrySet()) {
+            path.append(entry.getKey());
+            Node<V> child = entry.getValue();
+            if (child.value != null) {
+                target.put(path.toString(), child.value);
+            }
+
+            collect(child, path, target);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    private void collectValues(Node<V> node, Set<V> target) {
+        if (node.value != null) {
+            target.add(node.value);
+        }
+
+        for (Node<V> child : node.children.values()) {
+            collectValues(child, target);
+        }
+    }
+
+    private boolean removeIf(Node<V> node, Predicate<? super V> filter) {
+        boolean removed = false;
+        if (node.value != null && filter.test(node.value)) {
+            node.value = null;
+            removed = true;
+        }
+
+        for (Node<V> child : node.children.values()) {
+            if (removeIf(child, filter)) {
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    private static class Node<V> {
+
+        private final Map<Character, Node<V>> children = Maps.newConcurrentMap();
+        private volatile V value;
+    }
+}
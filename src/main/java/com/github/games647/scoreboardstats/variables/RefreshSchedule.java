@@ -0,0 +1,143 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.VariableItem;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track when a variable of a player should be replaced again. Every variable can have a configured delay. In
+ * the adaptive mode the delay doubles every time the value didn't change until the max delay is reached and falls back
+ * to the minimum if the value changes again.
+ *
+ * The entries are saved by the slot of the player and the index of the scoreboard item.
+ *
+ * @see com.github.games647.scoreboardstats.PlayerRegistry
+ */
+public class RefreshSchedule {
+
+    //the players are refreshed in intervals - don't miss a refresh only because it came a few milliseconds too early
+    private static final long TOLERANCE = 50;
+
+    private static final int MAX_LINES = Integer.SIZE;
+
+    //the variables of a player are only accessed by the thread that owns the player, but the array is shared
+    //and only changed while holding the lock of this schedule
+    private volatile Lines[] entries = new Lines[16];
+
+    /**
+     * Checks if the variable should be replaced again for this player.
+     *
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item
+     * @param now the current time in milliseconds
+     * @return true if the variable should be replaced
+     */
+    public boolean isDue(int slot, VariableItem variableItem, long now) {
+        if (!isScheduled(variableItem)) {
+            return true;
+        }
+
+        Lines[] current = entries;
+        int line = variableItem.getIndex();
+        if (slot < 0 || slot >= current.length || line >= MAX_LINES || current[slot] == null) {
+            return true;
+        }
+
+        Lines lines = current[slot];
+        return (lines.known & (1 << line)) == 0 || now >= lines.nextUpdate[line] - TOLERANCE;
+    }
+
+    /**
+     * Schedules the next replace of this variable
+     *
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item
+     * @param score the replaced score
+     * @param now the current time in milliseconds
+     */
+    public void onReplaced(int slot, VariableItem variableItem, int score, long now) {
+        int line = variableItem.getIndex();
+        if (!isScheduled(variableItem) || slot < 0 || line >= MAX_LINES) {
+            return;
+        }
+
+        Lines lines = getOrCreate(slot);
+        int lineBit = 1 << line;
+
+        long minDelay = TimeUnit.SECONDS.toMillis(Math.max(variableItem.getRefreshDelay(), Settings.getInterval()));
+        long delay;
+        if (!Settings.isAdaptiveDelay() || (lines.known & lineBit) == 0 || lines.lastScore[line] != score) {
+            delay = minDelay;
+        } else {
+            long maxDelay = TimeUnit.SECONDS.toMillis(Settings.getMaxAdaptiveDelay());
+            //exponential backoff for stable values
+            delay = Math.max(minDelay, Math.min(lines.delay[line] * 2, maxDelay));
+        }
+
+        lines.known |= lineBit;
+        lines.lastScore[line] = score;
+        lines.delay[line] = delay;
+        lines.nextUpdate[line] = now + delay;
+    }
+
+    /**
+     * Removes all scheduled variables of this player
+     *
+     * @param slot the slot of the player
+     */
+    public void remove(int slot) {
+        Lines[] current = entries;
+        if (slot >= 0 && slot < current.length && current[slot] != null) {
+            current[slot].known = 0;
+        }
+    }
+
+    /**
+     * Removes all scheduled variables
+     */
+    public void clear() {
+        for (Lines lines : entries) {
+            if (lines != null) {
+                lines.known = 0;
+            }
+        }
+    }
+
+    private boolean isScheduled(VariableItem variableItem) {
+        return Settings.isAdaptiveDelay() || variableItem.getRefreshDelay() > 0;
+    }
+
+    private Lines getOrCreate(int slot) {
+        Lines[] current = entries;
+        if (slot < current.length && current[slot] != null) {
+            return current[slot];
+        }
+
+        //the entry would be lost if another thread grows the array at the same time
+        synchronized (this) {
+            if (slot >= entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(slot + 1, entries.length * 2));
+            }
+
+            Lines lines = entries[slot];
+            if (lines == null) {
+                lines = new Lines();
+                entries[slot] = lines;
+            }
+
+            return lines;
+        }
+    }
+
+    private static class Lines {
+
+        private final int[] lastScore = new int[MAX_LINES];
+        private final long[] delay = new long[MAX_LINES];
+        private final long[] nextUpdate = new long[MAX_LINES];
+
+        //bitmask of the lines that have an entry
+        private int known;
+    }
+}
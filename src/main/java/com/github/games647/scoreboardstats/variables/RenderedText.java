@@ -0,0 +1,125 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.config.TextTemplate;
+
+/**
+ * The rendered state of a text template for a single player. It remembers the values of the variable segments,
+ * so a new string is only created if one of them changed. Otherwise the same instance is returned, which can be
+ * compared by its identity.
+ */
+public class RenderedText {
+
+    private final TextTemplate template;
+
+    private final String[] texts;
+    private final int[] scores;
+
+    private boolean changed = true;
+    private String text;
+    private String sentText;
+
+    /**
+     * Creates a new empty state
+     *
+     * @param template the compiled template
+     */
+    public RenderedText(TextTemplate template) {
+        this.template = template;
+
+        this.texts = new String[template.getVariableCount()];
+        this.scores = new int[template.getVariableCount()];
+    }
+
+    /**
+     * Get the template of this state
+     *
+     * @return the compiled template
+     */
+    public TextTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Sets the value of a variable segment.
+     *
+     * @param segment the index of the variable segment
+     * @param text the text value or null if the score should be displayed
+     * @param score the score value
+     */
+    public void set(int segment, String text, int score) {
+        boolean same = text == null ? texts[segment] == null && scores[segment] == score
+                : text.equals(texts[segment]);
+        if (!same) {
+            texts[segment] = text;
+            scores[segment] = score;
+            changed = true;
+        }
+    }
+
+    /**
+     * Renders the text if one of the values changed since the last call.
+     *
+     * @param builder a reusable builder
+     * @return the rendered text, which is the same instance if nothing changed
+     */
+    public String render(StringBuilder builder) {
+        if (!changed) {
+            return text;
+        }
+
+        builder.setLength(0);
+        for (int i = 0; i < texts.length; i++) {
+            builder.append(template.getLiteral(i));
+            if (texts[i] == null) {
+                builder.append(scores[i]);
+            } else {
+                builder.append(texts[i]);
+            }
+        }
+
+        builder.append(template.getLiteral(texts.length));
+        if (builder.length() > template.getMaxLength()) {
+            builder.setLength(template.getMaxLength());
+        }
+
+        changed = false;
+        //a value can change without changing the text, for example if it was cut
+        if (text == null || !text.contentEquals(builder)) {
+            text = builder.toString();
+        }
+
+        return text;
+    }
+
+    /**
+     * Get the last rendered text
+     *
+     * @return the rendered text or null if it wasn't rendered yet
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Get the text that the client received last
+     *
+     * @return the sent text or null if nothing was sent
+     */
+    public String getSentText() {
+        return sentText;
+    }
+
+    /**
+     * Remembers the text that was sent to the client
+     *
+     * @param sentText the sent text
+     */
+    public void setSentText(String sentText) {
+        this.sentText = sentText;
+    }
+
+    @Override
+    public String toString() {
+        return "RenderedText{" + "text=" + text + ", sentText=" + sentText + '}';
+    }
+}
@@ -1,14 +1,13 @@
 package com.github.games647.scoreboardstats.variables;
 
-import org.apache.commons.lang.StringUtils;
-
 /**
- * Represents a variable replace action
+ * Represents a variable replace action. If the variable is inside a text, the display text of this event is only
+ * the value of the variable and not the complete text.
  */
 public class ReplaceEvent {
 
-    private final String variable;
-    private final boolean textVariable;
+    private String variable;
+    private boolean textVariable;
 
     private boolean constant;
     private boolean modified;
@@ -30,6 +29,26 @@ public class ReplaceEvent {
         this.score = score;
     }
 
+    /**
+     * Resets this event, so it can be reused for the next replace without creating a new one.
+     *
+     * @param variable the to replaced variable
+     * @param textVariable whether it should return an String or Integer
+     * @param displayText the scoreboard item name
+     * @param score the scoreboard item score
+     * @return this event
+     */
+    ReplaceEvent reset(String variable, boolean textVariable, String displayText, int score) {
+        this.variable = variable;
+        this.textVariable = textVariable;
+        this.displayText = displayText;
+        this.score = score;
+
+        this.constant = false;
+        this.modified = false;
+        return this;
+    }
+
     /**
      * Get whether this event is modified
      *
@@ -115,11 +134,8 @@ public class ReplaceEvent {
      * @param newScore the new value
      */
     public void setScoreOrText(int newScore) {
-        if (textVariable) {
-            setDisplayText(StringUtils.replace(displayText, variable, Integer.toString(newScore), 1));
-        } else {
-            setScore(newScore);
-        }
+        //numbers inside a text are rendered from the score, so they don't need to be converted here
+        setScore(newScore);
     }
 
     /**
@@ -129,13 +145,12 @@ public class ReplaceEvent {
      */
     public void setScoreOrText(String replacedVariable) {
         if (textVariable) {
-            //StringUtil.replace is fater because it doesn't create a pattern in the background
-            //and we need the performance as the replace method is called often
-            setDisplayText(StringUtils.replace(displayText, variable, replacedVariable, 1));
+            //the template puts the value at the position of the variable
+            setDisplayText(replacedVariable);
         } else {
-            Integer parsedInt = Integer.getInteger(variable);
-            if (parsedInt != null) {
-                setScore(parsedInt);
+            long parsed = NumberParser.parse(replacedVariable);
+            if (parsed != NumberParser.NOT_A_NUMBER) {
+                setScore(NumberParser.toInt(parsed));
             }
         }
     }
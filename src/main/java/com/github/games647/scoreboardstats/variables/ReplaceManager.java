@@ -1,20 +1,31 @@
 package com.github.games647.scoreboardstats.variables;
 
-import com.github.games647.scoreboardstats.BackwardsCompatibleUtil;
+import com.github.games647.scoreboardstats.PlayerSession;
 import com.github.games647.scoreboardstats.SbManager;
 import com.github.games647.scoreboardstats.ScoreboardStats;
 import com.github.games647.scoreboardstats.config.Lang;
 import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.SidebarConfig;
+import com.github.games647.scoreboardstats.config.TextTemplate;
 import com.github.games647.scoreboardstats.config.VariableItem;
+import com.github.games647.scoreboardstats.scheduler.PluginScheduler;
 import com.github.games647.scoreboardstats.variables.defaults.*;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
@@ -31,6 +42,33 @@ public class ReplaceManager implements Listener {
 
     private static final Map<Class<? extends VariableReplaceAdapter<?>>, String> DEFAULTS;
 
+    //the variables of the default replacers without creating them - the plugins could be missing
+    private static final ImmutableMap<Class<? extends VariableReplaceAdapter<?>>, Supplier<String[]>> DEFAULT_VARIABLES
+            = ImmutableMap.<Class<? extends VariableReplaceAdapter<?>>, Supplier<String[]>>builder()
+            .put(BukkitVariables.class, () -> BukkitVariables.VARIABLES)
+            .put(BukkitGlobalVariables.class, () -> BukkitGlobalVariables.VARIABLES)
+            .put(GeneralVariables.class, () -> GeneralVariables.VARIABLES)
+            .put(PlayerPingVariable.class, () -> PlayerPingVariable.VARIABLES)
+            .put(ActivityVariables.class, () -> ActivityVariables.VARIABLES)
+            .put(BungeeCordVariables.class, () -> BungeeCordVariables.VARIABLES)
+            .put(VaultVariables.class, () -> VaultVariables.VARIABLES)
+            .put(HeroesVariables.class, () -> HeroesVariables.VARIABLES)
+            .put(McmmoVariables.class, () -> McmmoVariables.VARIABLES)
+            .put(SkyblockVariables.class, () -> SkyblockVariables.VARIABLES)
+            .put(PlayerPointsVariables.class, () -> PlayerPointsVariables.VARIABLES)
+            .put(McPrisonVariables.class, () -> McPrisonVariables.VARIABLES)
+            .put(BukkitGamesVariables.class, () -> BukkitGamesVariables.VARIABLES)
+            .put(CraftconomyVariables.class, () -> CraftconomyVariables.VARIABLES)
+            .put(ASkyBlockVariables.class, () -> ASkyBlockVariables.VARIABLES)
+            .put(MyPetVariables.class, () -> MyPetVariables.VARIABLES)
+            .put(GriefPreventionVariables.class, () -> GriefPreventionVariables.VARIABLES)
+            .put(McCombatLevelVariables.class, () -> McCombatLevelVariables.VARIABLES)
+            .put(SimpleClansVariables.class, () -> SimpleClansVariables.VARIABLES)
+            .put(FactionsVariables.class, () -> FactionsVariables.VARIABLES)
+            //hooks of other plugins are added at runtime
+            .put(PlaceHolderVariables.class, PlaceHolderVariables::getVariablesPrefixes)
+            .build();
+
     static {
         Map<Class<? extends VariableReplaceAdapter<?>>, String> tempMap = Maps.newHashMap();
         //empty value means this plugin
@@ -38,6 +76,7 @@ public class ReplaceManager implements Listener {
         tempMap.put(BukkitGlobalVariables.class, "");
         tempMap.put(GeneralVariables.class, "");
         tempMap.put(PlayerPingVariable.class, "");
+        tempMap.put(ActivityVariables.class, "");
         tempMap.put(BungeeCordVariables.class, "");
 
         tempMap.put(VaultVariables.class, "Vault");
@@ -64,13 +103,50 @@ public class ReplaceManager implements Listener {
         DEFAULTS = ImmutableMap.copyOf(tempMap);
     }
 
-    private final Set<String> skipList = Sets.newHashSet();
-    private final Set<VariableReplaceAdapter<?>> legacyReplacers = Sets.newHashSet();
-    private final Map<String, VariableReplaceAdapter<?>> globals = Maps.newHashMap();
-    private final Map<String, VariableReplaceAdapter<?>> specificReplacer = Maps.newHashMap();
+    //replaces can run on multiple threads on regionized servers
+    //copy on write - lookups only read the current snapshot
+    private final Object registryLock = new Object();
+    private volatile ReplacerRegistry registry = ReplacerRegistry.EMPTY;
+    //lookups are lock free, but it's only modified together with the registry
+    private final PrefixIndex<VariableReplaceAdapter<?>> wildcards = new PrefixIndex<>();
+    private final Map<VariableReplaceAdapter<?>, ReplacerHealth> healths = Maps.newConcurrentMap();
+    private final Map<String, VariablePublisher> publishers = Maps.newConcurrentMap();
+
+    //default replacers of enabled plugins that wait until a variable of them is used
+    private final Map<Class<? extends VariableReplaceAdapter<?>>, String> pendingDefaults = Maps.newConcurrentMap();
+
+    //last value of every global variable that was sent to all players
+    private final Map<String, Integer> globalScores = Maps.newConcurrentMap();
+
+    //indexed by the scoreboard item - rebuilt on every change of the replacers
+    private volatile VariableBinding[] bindings = new VariableBinding[0];
+    private volatile boolean hasBatch;
+
+    //one event per thread that is reused for every replace on the update path
+    private final ThreadLocal<ReplaceEvent> reusableEvent = ThreadLocal.withInitial(()
+            -> new ReplaceEvent("", false, "", 0));
+
+    private final RefreshSchedule schedule = new RefreshSchedule();
+    private final ScopedCache scopedCache = new ScopedCache();
+    private final BatchScores batchScores = new BatchScores();
+
+    //reusable buffers of the refresh task
+    private Player[] batchPlayers = new Player[0];
+    private int[] batchSlots = new int[0];
+    private int[] batchResults = new int[0];
+
+    //variables inside texts and expressions are resolved on their first use - cleared on every change of the replacers
+    private final Map<String, VariableBinding> lazyBindings = Maps.newConcurrentMap();
+    private final Set<String> unknownVariables = Sets.newConcurrentHashSet();
+    private final TextCache textCache = new TextCache();
+    private final ThreadLocal<StringBuilder> textBuilder = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final AsyncEvaluator asyncEvaluator;
+    private final EventUpdateQueue eventUpdates;
 
     private final ScoreboardStats plugin;
     private final SbManager sbManager;
+    private final DerivedVariables derivedVariables;
 
     /**
      * Creates a new replace manager
@@ -81,9 +157,15 @@ public class ReplaceManager implements Listener {
     public ReplaceManager(SbManager scoreboardManager, ScoreboardStats plugin) {
         this.plugin = plugin;
         this.sbManager = scoreboardManager;
+        this.asyncEvaluator = new AsyncEvaluator(plugin);
+        this.eventUpdates = new EventUpdateQueue(plugin, this);
 
         Bukkit.getPluginManager().registerEvents(new PluginListener(this), plugin);
         addDefaultReplacers();
+
+        derivedVariables = new DerivedVariables(this, plugin, Settings.getDerivedVariables());
+        register(derivedVariables);
+        rebind();
     }
 
     /**
@@ -94,7 +176,13 @@ public class ReplaceManager implements Listener {
      */
     @Deprecated
     public void register(Replaceable replacer, String pluginName) {
-        legacyReplacers.add(new LegacyReplaceWrapper(Bukkit.getPluginManager().getPlugin(pluginName), replacer));
+        Plugin replacerPlugin = Bukkit.getPluginManager().getPlugin(pluginName);
+        LegacyReplaceWrapper wrapper = new LegacyReplaceWrapper(replacerPlugin, replacer);
+        synchronized (registryLock) {
+            ReplacerRegistry.Editor editor = registry.edit();
+            editor.addLegacy(wrapper);
+            registry = editor.build();
+        }
     }
 
     /**
@@ -130,21 +218,41 @@ public class ReplaceManager implements Listener {
      * @param replacer the variable replacer
      */
     public void register(VariableReplaceAdapter<? extends Plugin> replacer) {
-        for (String variable : replacer.getVariables()) {
-            if (variable.contains("*")) {
-                //contains wildcard
-                legacyReplacers.add(replacer);
-            }
+        synchronized (registryLock) {
+            ReplacerRegistry.Editor editor = registry.edit();
+            for (String variable : replacer.getVariables()) {
+                if (variable.contains("*")) {
+                    //contains wildcard
+                    String prefix = PrefixIndex.getPrefix(variable);
+                    wildcards.getOverlapping(prefix).forEach((otherPrefix, otherReplacer) -> {
+                        if (!otherReplacer.equals(replacer)) {
+                            plugin.getLogger().warning(Lang.get("overlappingWildcard", variable
+                                    , replacer.getClass().getSimpleName(), otherPrefix + '*'
+                                    , otherReplacer.getClass().getSimpleName()));
+                        }
+                    });
+
+                    VariableReplaceAdapter<?> oldReplacer = wildcards.put(prefix, replacer);
+                    if (oldReplacer != null && !oldReplacer.equals(replacer)) {
+                        plugin.getLogger().warning(Lang.get("ambiguousWildcard", variable
+                                , oldReplacer.getClass().getSimpleName(), replacer.getClass().getSimpleName()));
+                    }
+                }
 
-            specificReplacer.put(variable, replacer);
-            if (replacer.isConstant() || replacer.isGlobal()) {
-                skipList.add(variable);
-                if (replacer.isGlobal() && !replacer.isConstant()) {
-                    //if constant we don't need to update it manually
-                    globals.put(variable, replacer);
+                editor.putReplacer(variable, replacer);
+                if (replacer.isConstant() || replacer.isGlobal()) {
+                    editor.skip(variable);
+                    if (replacer.isGlobal() && !replacer.isConstant()) {
+                        //if constant we don't need to update it manually
+                        editor.putGlobal(variable, replacer);
+                    }
                 }
             }
+
+            registry = editor.build();
         }
+
+        rebind();
     }
 
     /**
@@ -155,22 +263,7 @@ public class ReplaceManager implements Listener {
      */
     @Deprecated
     public boolean unregister(Replaceable replacer) {
-        boolean found = false;
-
-        Iterator<VariableReplaceAdapter<?>> iterator = specificReplacer.values().iterator();
-        while (iterator.hasNext()) {
-            VariableReplaceAdapter<?> next = iterator.next();
-            if (next.equals(replacer)) {
-                iterator.remove();
-                found = true;
-            }
-        }
-
-        if (legacyReplacers.remove(replacer)) {
-            found = true;
-        }
-
-        return found;
+        return removeReplacers(next -> next.equals(replacer));
     }
 
     /**
@@ -180,26 +273,74 @@ public class ReplaceManager implements Listener {
      * @return if the replacer existed
      */
     public boolean unregister(VariableReplacer replacer) {
-        boolean found = false;
+        return removeReplacers(next -> next.equals(replacer));
+    }
 
-        Iterator<VariableReplaceAdapter<?>> iterator = specificReplacer.values().iterator();
-        while (iterator.hasNext()) {
-            VariableReplaceAdapter<?> next = iterator.next();
-            if (next.equals(replacer)) {
-                iterator.remove();
-                found = true;
-            }
+    /**
+     * Unregisters all replacers of this plugin. This have to be called if the plugin is disabled.
+     *
+     * @param pluginName the name of the plugin
+     * @return if a replacer of this plugin existed
+     */
+    protected boolean unregisterAll(String pluginName) {
+        pendingDefaults.values().removeIf(pluginName::equals);
+        return removeReplacers(replacer -> replacer.getPlugin() != null
+                && replacer.getPlugin().getName().equals(pluginName));
+    }
+
+    private boolean removeReplacers(Predicate<VariableReplaceAdapter<?>> filter) {
+        boolean found;
+        synchronized (registryLock) {
+            ReplacerRegistry.Editor editor = registry.edit();
+            found = editor.removeIf(filter) | wildcards.removeIf(filter);
+            registry = editor.build();
         }
 
+        healths.keySet().removeIf(filter);
+        rebind();
         return found;
     }
 
     public void addUpdateOnEvent(VariableReplacer replacer, Plugin plugin, String variable, Class<? extends Event> eventClass) {
-        EventVariableExecutor eventVariableExecutor = new EventVariableExecutor(this.plugin, replacer, variable);
+        addUpdateOnEvent(replacer, plugin, variable, eventClass, 1L);
+    }
+
+    /**
+     * Updates the variable after the event. Events for the same player are merged until the update runs, so
+     * frequent events only cause one replace. Every event postpones the update by a window up to
+     * {@link EventUpdateQueue#MAX_WINDOWS} windows.
+     *
+     * @param replacer the replacer of the variable
+     * @param plugin the associated plugin
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @param eventClass the event that changes the variable
+     * @param window the ticks to wait for more events of the same player before updating
+     */
+    public void addUpdateOnEvent(VariableReplacer replacer, Plugin plugin, String variable
+            , Class<? extends Event> eventClass, long window) {
+        EventVariableExecutor eventVariableExecutor = new EventVariableExecutor(this.plugin, replacer, variable
+                , window);
         Bukkit.getPluginManager()
                 .registerEvent(eventClass, new Listener() { }, EventPriority.MONITOR, eventVariableExecutor, plugin, true);
     }
 
+    /**
+     * Get the publisher to push the values of this variable. The variable won't be polled anymore after the first
+     * value of a scoreboard, so the replacer has to publish every change.
+     *
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return the publisher of this variable
+     */
+    public VariablePublisher getPublisher(String variable) {
+        VariablePublisher publisher = publishers.get(variable);
+        if (publisher == null) {
+            publisher = publishers.computeIfAbsent(variable, key -> new VariablePublisher(this, key));
+            skip(variable);
+        }
+
+        return publisher;
+    }
+
     /**
      * Notifies that a scoreboard value has changed. This should be called from an event listener.
      *
@@ -208,25 +349,116 @@ public class ReplaceManager implements Listener {
      * @param newScore what should be the new score
      */
     public void updateScore(Player player, String variable, int newScore) {
+        if (derivedVariables.isInput(variable)) {
+            //the derived variables are sent in the same batch
+            updateScores(player, Collections.singletonMap(variable, newScore));
+            return;
+        }
+
         VariableItem variableItem = Settings.getMainScoreboard().getItemsByVariable().get(variable);
         if (variableItem != null) {
-            sbManager.update(player, variableItem.getDisplayText(), newScore);
+            PluginScheduler scheduler = plugin.getScheduler();
+            if (scheduler.isOwner(player)) {
+                sbManager.update(player, variableItem.getDisplayText(), newScore);
+            } else {
+                //the scoreboard belongs to the thread of the player
+                scheduler.runForPlayer(player, () -> sbManager.update(player, variableItem.getDisplayText(), newScore));
+            }
+        }
+    }
+
+    /**
+     * Notifies that multiple scoreboard values of this player have changed. The lines are resolved in one pass and
+     * sent together with the derived variables that depend on them on the thread that owns the player.
+     *
+     * @param player who receives the update
+     * @param scores the new scores by the variables <b>without the variable identifier</b>
+     */
+    public void updateScores(Player player, Map<String, Integer> scores) {
+        Map<String, VariableItem> itemsByVariable = Settings.getMainScoreboard().getItemsByVariable();
+        VariableItem[] items = new VariableItem[scores.size()];
+        int[] newScores = new int[items.length];
+        int length = 0;
+        boolean inputs = false;
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            String variable = entry.getKey();
+            inputs |= derivedVariables.isInput(variable);
+
+            VariableItem variableItem = itemsByVariable.get(variable);
+            if (variableItem != null) {
+                items[length] = variableItem;
+                newScores[length] = entry.getValue();
+                length++;
+            }
+        }
+
+        if (length == 0 && !inputs) {
+            return;
+        }
+
+        int count = length;
+        Map<String, Integer> changedInputs = inputs ? ImmutableMap.copyOf(scores) : null;
+        PluginScheduler scheduler = plugin.getScheduler();
+        if (scheduler.isOwner(player)) {
+            sendScores(player, items, newScores, count, changedInputs);
+        } else {
+            //the scoreboard belongs to the thread of the player
+            scheduler.runForPlayer(player, () -> sendScores(player, items, newScores, count, changedInputs));
         }
     }
 
     /**
      * Notifies that a scoreboard value has changed. This should be called from an event listener. This method will
-     * update the variable for all players
+     * update the variable for all players. Nothing will be sent if the value didn't change.
      *
      * @param variable what variable is going to be updated
      * @param newScore what should be the new score
      */
     public void updateScore(String variable, int newScore) {
-        BackwardsCompatibleUtil.getOnlinePlayers().forEach(pl -> updateScore(pl, variable, newScore));
+        updateScores(Collections.singletonMap(variable, newScore));
+    }
+
+    /**
+     * Notifies that multiple global values have changed. Only the changed values and the derived variables that
+     * depend on them are sent to all players in one batch.
+     *
+     * @param scores the new scores by the variables <b>without the variable identifier</b>
+     */
+    public void updateScores(Map<String, Integer> scores) {
+        Map<String, VariableItem> itemsByVariable = Settings.getMainScoreboard().getItemsByVariable();
+        VariableItem[] items = new VariableItem[scores.size()];
+        int[] newScores = new int[items.length];
+        int length = 0;
+        Map<String, Integer> changedInputs = null;
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            String variable = entry.getKey();
+            int newScore = entry.getValue();
+            if (!isGlobalChanged(variable, newScore)) {
+                continue;
+            }
+
+            VariableItem variableItem = itemsByVariable.get(variable);
+            if (variableItem != null) {
+                items[length] = variableItem;
+                newScores[length] = newScore;
+                length++;
+            }
+
+            if (derivedVariables.isInput(variable)) {
+                if (changedInputs == null) {
+                    changedInputs = Maps.newHashMap();
+                }
+
+                changedInputs.put(variable, newScore);
+            }
+        }
+
+        broadcast(items, newScores, length, changedInputs);
     }
 
     /**
-     * Get the score for a specific variable.
+     * Get the score for a specific variable. Variables of thread-safe replacers will be evaluated async on
+     * normal updates. The returned event is then unmodified and the result will be committed in a later tick.
      *
      * @param player the associated player
      * @param variable the variable
@@ -239,53 +471,811 @@ public class ReplaceManager implements Listener {
     public ReplaceEvent getScore(Player player, String variable, String displayName, int oldScore, boolean complete)
             throws UnknownVariableException {
         ReplaceEvent replaceEvent = new ReplaceEvent(variable, false, displayName, oldScore);
-        if (!complete && skipList.contains(variable)) {
+        replaceUnbound(player, variable, replaceEvent, complete);
+        return replaceEvent;
+    }
+
+    //variables without a bound scoreboard item, for example wildcard variables before their first replace
+    private void replaceUnbound(Player player, String variable, ReplaceEvent replaceEvent, boolean complete)
+            throws UnknownVariableException {
+        ReplacerRegistry currentRegistry = registry;
+        if (!complete && currentRegistry.isSkipped(variable)) {
             //Check if the variable can be updated with event handlers or is global
             //therefore we just need a initial value
-            return replaceEvent;
+            return;
         }
 
         //cache found variables
-        VariableReplacer replacer = specificReplacer.get(variable);
-        if (replacer == null) {
+        VariableReplaceAdapter<?> replacer = currentRegistry.getReplacer(variable);
+        if (replacer == null && !pendingDefaults.isEmpty()) {
+            //not used by the config, but requested by another plugin
+            registerReferenced(Collections.singleton(variable));
+            replacer = registry.getReplacer(variable);
+        }
+
+        //the binding is cached until the replacers change
+        VariableBinding binding = replacer == null ? null : getLazyBinding(variable);
+        if (binding == null) {
             getScoreLegacy(player, variable, replaceEvent);
+            onComplete(variable, replaceEvent, complete);
         } else {
+            replace(player, variable, binding, replaceEvent, complete);
+        }
+    }
+
+    /**
+     * Get the score for a scoreboard item. This uses the replacer that was bound to the item when the scoreboard
+     * or the replacers were loaded, so it doesn't need to look up the variable.
+     *
+     * The returned event is reused by the next call on the same thread, so it shouldn't be saved.
+     *
+     * @param player the associated player
+     * @param variableItem the scoreboard item
+     * @param complete whether it's the first refresh
+     * @return the modified state
+     * @throws UnknownVariableException if the variable couldn't be replace
+     * @see #getScore(Player, String, String, int, boolean)
+     */
+    public ReplaceEvent getScore(Player player, VariableItem variableItem, boolean complete)
+            throws UnknownVariableException {
+        return getScore(player, plugin.getPlayerRegistry().getSlot(player), variableItem, complete);
+    }
+
+    /**
+     * @param player the associated player
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item
+     * @param complete whether it's the first refresh
+     * @return the modified state
+     * @throws UnknownVariableException if the variable couldn't be replace
+     * @see #getScore(Player, VariableItem, boolean)
+     */
+    public ReplaceEvent getScore(Player player, int slot, VariableItem variableItem, boolean complete)
+            throws UnknownVariableException {
+        String variable = variableItem.getVariable();
+        String displayText = variableItem.getDisplayText();
+        int score = variableItem.getScore();
+
+        VariableBinding[] current = bindings;
+        int index = variableItem.getIndex();
+        VariableBinding binding = index < current.length ? current[index] : null;
+        ReplaceEvent replaceEvent = reuseEvent(variable, displayText, score);
+        if (binding == null) {
+            //not resolved yet - maybe it's a wildcard variable
+            replaceUnbound(player, variable, replaceEvent, complete);
+            return replaceEvent;
+        }
+
+        if (!complete && binding.isSkipped()) {
+            return replaceEvent;
+        }
+
+        if (!complete && binding.getBatchAccessor() != null
+                && (binding.getReplacer().isAsync() || batchScores.apply(slot, index, replaceEvent))) {
+            //already resolved together with the other due players or sent after the async batch
+            return replaceEvent;
+        }
+
+        replace(player, variable, binding, replaceEvent, complete);
+        return replaceEvent;
+    }
+
+    /**
+     * Get the event of the current thread that is reset for a new replace.
+     *
+     * @param variable the to replaced variable
+     * @param displayText the scoreboard item name
+     * @param score the scoreboard item score
+     * @return the reset event of this thread
+     */
+    ReplaceEvent reuseEvent(String variable, String displayText, int score) {
+        return reusableEvent.get().reset(variable, false, displayText, score);
+    }
+
+    /**
+     * Renders the text of a scoreboard item with variables inside the text. The variables are replaced on every
+     * call, but a new string is only created if one of the values changed.
+     *
+     * Unknown variables stay in the text. Thread-safe replacers are called directly, because the text is needed
+     * immediately.
+     *
+     * @param player the associated player
+     * @param variableItem the scoreboard item with a template
+     * @return the rendered state of this player
+     */
+    public RenderedText renderText(Player player, VariableItem variableItem) {
+        return renderText(player, plugin.getPlayerRegistry().getSlot(player), variableItem);
+    }
+
+    /**
+     * @param player the associated player
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item with a template
+     * @return the rendered state of this player
+     * @see #renderText(Player, VariableItem)
+     */
+    public RenderedText renderText(Player player, int slot, VariableItem variableItem) {
+        return render(player, textCache.get(slot, variableItem.getIndex(), variableItem.getTemplate()));
+    }
+
+    /**
+     * Renders the title of the scoreboard.
+     *
+     * @param player the associated player
+     * @param template the compiled title
+     * @return the rendered state of this player
+     * @see #renderText(Player, VariableItem)
+     */
+    public RenderedText renderTitle(Player player, TextTemplate template) {
+        return renderTitle(player, plugin.getPlayerRegistry().getSlot(player), template);
+    }
+
+    /**
+     * @param player the associated player
+     * @param slot the slot of the player
+     * @param template the compiled title
+     * @return the rendered state of this player
+     * @see #renderTitle(Player, TextTemplate)
+     */
+    public RenderedText renderTitle(Player player, int slot, TextTemplate template) {
+        return render(player, textCache.get(slot, -1, template));
+    }
+
+    /**
+     * Forgets which texts were sent to this player, because he received a new objective.
+     *
+     * @param player the associated player
+     */
+    public void forgetTexts(Player player) {
+        textCache.remove(plugin.getPlayerRegistry().getSlot(player));
+    }
+
+    private RenderedText render(Player player, RenderedText rendered) {
+        TextTemplate template = rendered.getTemplate();
+        for (int segment = 0; segment < template.getVariableCount(); segment++) {
+            String variable = template.getVariable(segment);
+            VariableBinding binding = getLazyBinding(variable);
+            if (binding == null) {
+                //keep the original text
+                rendered.set(segment, '%' + variable + '%', 0);
+                continue;
+            }
+
+            ReplaceEvent replaceEvent = reusableEvent.get().reset(variable, true, null, 0);
+            replace(player, variable, binding, replaceEvent, true);
+            if (replaceEvent.isModified()) {
+                rendered.set(segment, replaceEvent.getDisplayText(), replaceEvent.getScore());
+            }
+        }
+
+        rendered.render(textBuilder.get());
+        return rendered;
+    }
+
+    /**
+     * Replaces a variable that isn't a scoreboard item itself, for example an input of a derived variable.
+     * Thread-safe replacers are called directly, because the value is needed immediately.
+     *
+     * @param player the associated player
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return the replaced state or null if the variable is unknown
+     */
+    public ReplaceEvent replaceInput(Player player, String variable) {
+        VariableBinding binding = getLazyBinding(variable);
+        if (binding == null) {
+            return null;
+        }
+
+        //the reusable event could be in use by the caller
+        ReplaceEvent replaceEvent = new ReplaceEvent(variable, false, null, 0);
+        replace(player, variable, binding, replaceEvent, true);
+        return replaceEvent;
+    }
+
+    /**
+     * Checks if the variable is only replaced on the first refresh, because it's constant or the new values are
+     * pushed by events or the global updates.
+     *
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return true if the variable isn't replaced on normal refreshes
+     */
+    public boolean isSkipped(String variable) {
+        return registry.isSkipped(variable);
+    }
+
+    private VariableBinding getLazyBinding(String variable) {
+        VariableBinding binding = lazyBindings.get(variable);
+        if (binding != null || unknownVariables.contains(variable)) {
+            return binding;
+        }
+
+        //a rebind clears the cached bindings under this lock, so a binding of an old registry isn't cached
+        synchronized (registryLock) {
+            VariableReplaceAdapter<?> replacer = registry.getReplacer(variable);
+            if (replacer == null) {
+                replacer = wildcards.find(variable);
+            }
+
+            if (replacer == null) {
+                if (unknownVariables.add(variable)) {
+                    plugin.getLogger().info(Lang.get("unknownVariable", variable));
+                }
+
+                return null;
+            }
+
+            VariableBinding newBinding = new VariableBinding(replacer, replacer.bind(variable), false
+                    , replacer.getScopeTtl(variable), getHealth(replacer), null);
+            lazyBindings.put(variable, newBinding);
+            return newBinding;
+        }
+    }
+
+    private void replace(Player player, String variable, VariableBinding binding, ReplaceEvent replaceEvent
+            , boolean complete) {
+        VariableReplaceAdapter<?> replacer = binding.getReplacer();
+        ReplacerHealth health = binding.getHealth();
+
+        Object scope = null;
+        long now = 0;
+        if (binding.getScopeTtl() > 0 && player != null) {
             try {
-                replacer.onReplace(player, variable, replaceEvent);
-            } catch (LinkageError | Exception replacerException) {
-                //remove the replacer if it throws exceptions, to prevent future ones
-                //Maybe we need to catch compiler "errors"
-                plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", replacer), replacerException);
-                unregister(replacer);
+                scope = replacer.getScope(player, variable);
+            } catch (Exception scopeException) {
+                onFailure(health, scopeException, 0);
+                keepLastScore(replaceEvent, complete);
+                return;
+            }
+
+            now = System.currentTimeMillis();
+            if (scope != null && scopedCache.apply(variable, scope, replaceEvent, now)) {
+                //another player of the same scope replaced it already
+                return;
             }
         }
 
+        if (!health.allowCall(System.nanoTime())) {
+            //the scoreboards keep the last value until the replacer is retried
+            keepLastScore(replaceEvent, complete);
+            return;
+        }
+
+        if (!complete && replacer.isAsync()) {
+            //the first values are needed immediately, but the following ones can be evaluated off the main thread
+            asyncEvaluator.submit(player, variable, replaceEvent.getDisplayText(), replaceEvent.getScore()
+                    , replacer, binding.getAccessor());
+            return;
+        }
+
+        if (invoke(health, replacer, binding.getAccessor(), player, variable, replaceEvent)
+                && scope != null && replaceEvent.isModified() && !replaceEvent.isConstant()) {
+            scopedCache.put(variable, scope, replaceEvent, now + binding.getScopeTtl());
+        }
+
+        onComplete(variable, replaceEvent, complete);
+    }
+
+    private void keepLastScore(ReplaceEvent replaceEvent, boolean complete) {
+        if (complete && !replaceEvent.isTextVariable()) {
+            //a new scoreboard has no last value - serve the default score, so the line isn't missing until the
+            //replacer is retried
+            replaceEvent.setScore(replaceEvent.getScore());
+        }
+    }
+
+    private boolean invoke(ReplacerHealth health, VariableReplaceAdapter<?> replacer, VariableReplacer accessor
+            , Player player, String variable, ReplaceEvent replaceEvent) {
+        long start = System.nanoTime();
+        try {
+            accessor.onReplace(player, variable, replaceEvent);
+        } catch (LinkageError linkageError) {
+            //the plugin is missing classes - a retry won't help
+            plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", replacer), linkageError);
+            unregister(replacer);
+            return false;
+        } catch (Exception replacerException) {
+            onFailure(health, replacerException, System.nanoTime() - start);
+            return false;
+        }
+
+        long end = System.nanoTime();
+        if (health.record(end - start, false, end)) {
+            logPaused(health, null);
+        }
+
+        return true;
+    }
+
+    private void onFailure(ReplacerHealth health, Throwable error, long nanos) {
+        if (health.record(nanos, true, System.nanoTime())) {
+            logPaused(health, error);
+        }
+    }
+
+    private void logPaused(ReplacerHealth health, Throwable lastError) {
+        String message = Lang.get("replacerPaused", health.getName()
+                , String.format("%.2f", health.getAverageMillis()), Math.round(health.getErrorRate() * 100));
+        plugin.getLogger().log(Level.WARNING, message, lastError);
+    }
+
+    private ReplacerHealth getHealth(VariableReplaceAdapter<?> replacer) {
+        return healths.computeIfAbsent(replacer, ReplaceManager::createHealth);
+    }
+
+    private static ReplacerHealth createHealth(VariableReplaceAdapter<?> replacer) {
+        String name = replacer.getClass().getSimpleName();
+        if (name.isEmpty()) {
+            //anonymous class
+            name = replacer.getClass().getName();
+        }
+
+        if (replacer.getPlugin() != null) {
+            name = replacer.getPlugin().getName() + '/' + name;
+        }
+
+        return new ReplacerHealth(name);
+    }
+
+    /**
+     * Get the circuit breakers of all replacers that were called at least once, sorted by their average time.
+     *
+     * @return the health of all called replacers
+     */
+    public List<ReplacerHealth> getReplacerHealth() {
+        List<ReplacerHealth> result = Lists.newArrayList(healths.values());
+        result.removeIf(health -> health.getCalls() == 0);
+        result.sort(Comparator.comparingDouble(ReplacerHealth::getAverageMillis).reversed());
+        return result;
+    }
+
+    private void onComplete(String variable, ReplaceEvent replaceEvent, boolean complete) {
         if (complete && replaceEvent.isConstant()) {
-            skipList.add(variable);
-            //they are updated with events so we don't need to update it manually
-            globals.remove(variable);
+            skip(variable);
         }
+    }
 
-        return replaceEvent;
+    private void skip(String variable) {
+        if (registry.isSkipped(variable)) {
+            //fast path without a copy
+            return;
+        }
+
+        synchronized (registryLock) {
+            ReplacerRegistry.Editor editor = registry.edit();
+            if (!editor.skip(variable)) {
+                return;
+            }
+
+            registry = editor.build();
+        }
+
+        rebind();
+    }
+
+    private void putReplacer(String variable, VariableReplaceAdapter<?> replacer) {
+        synchronized (registryLock) {
+            if (!wildcards.values().contains(replacer) && !registry.getLegacyReplacers().contains(replacer)) {
+                //unregistered in the meanwhile
+                return;
+            }
+
+            ReplacerRegistry.Editor editor = registry.edit();
+            editor.putReplacer(variable, replacer);
+            registry = editor.build();
+        }
+
+        rebind();
+    }
+
+    /**
+     * Resolves all variables of the scoreboard to their replacers. This have to be called if the replacers or the
+     * scoreboard items changed.
+     */
+    public void rebind() {
+        SidebarConfig sidebarConfig = Settings.getMainScoreboard();
+        if (sidebarConfig == null) {
+            //the config isn't loaded yet
+            return;
+        }
+
+        if (!pendingDefaults.isEmpty()) {
+            registerReferenced(getReferencedVariables(sidebarConfig));
+        }
+
+        //built and published under the lock, so a slower rebind can't publish an older registry over a newer one
+        synchronized (registryLock) {
+            bind(sidebarConfig.getItemsByVariable().values());
+        }
+    }
+
+    private void bind(Collection<VariableItem> items) {
+        int size = 0;
+        for (VariableItem item : items) {
+            size = Math.max(size, item.getIndex() + 1);
+        }
+
+        ReplacerRegistry currentRegistry = registry;
+        VariableBinding[] newBindings = new VariableBinding[size];
+        boolean batch = false;
+        for (VariableItem item : items) {
+            String variable = item.getVariable();
+            VariableReplaceAdapter<?> replacer = currentRegistry.getReplacer(variable);
+            if (replacer != null) {
+                VariableReplacer accessor = replacer.bind(variable);
+                boolean skipped = currentRegistry.isSkipped(variable);
+                long scopeTtl = replacer.getScopeTtl(variable);
+                ReplacerHealth health = getHealth(replacer);
+                BatchReplacer batchAccessor = skipped ? null : replacer.bindBatch(variable);
+                batch |= batchAccessor != null;
+                newBindings[item.getIndex()] = new VariableBinding(replacer, accessor, skipped, scopeTtl, health
+                        , batchAccessor);
+            }
+        }
+
+        hasBatch = batch;
+        bindings = newBindings;
+
+        lazyBindings.clear();
+        unknownVariables.clear();
+    }
+
+    /**
+     * Resolves the variables of batch replacers for all players of the current refresh cycle at once. The results
+     * are used by the following refreshes of these players. Thread-safe batch replacers are evaluated off the main
+     * thread and their results are sent by {@link #commitAsync()}. This have to be called from the refresh task.
+     *
+     * @param sessions the players that will be refreshed. Only the first <code>length</code> entries are valid
+     * @param length the number of players
+     * @see BatchReplacer
+     */
+    public void prefetch(PlayerSession[] sessions, int length) {
+        if (!hasBatch || length == 0) {
+            return;
+        }
+
+        batchScores.nextGeneration();
+        if (batchPlayers.length < length) {
+            batchPlayers = new Player[length];
+            batchSlots = new int[length];
+            batchResults = new int[length];
+        }
+
+        VariableBinding[] current = bindings;
+        PluginScheduler scheduler = plugin.getScheduler();
+        long now = System.currentTimeMillis();
+        for (VariableItem variableItem : Settings.getMainScoreboard().getVariableItems()) {
+            int index = variableItem.getIndex();
+            VariableBinding binding = index < current.length ? current[index] : null;
+            if (binding == null || binding.getBatchAccessor() == null) {
+                continue;
+            }
+
+            boolean async = binding.getReplacer().isAsync();
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                Player player = sessions[i].getPlayer();
+                int slot = sessions[i].getSlot();
+                if ((async || scheduler.isOwner(player)) && schedule.isDue(slot, variableItem, now)) {
+                    batchPlayers[count] = player;
+                    batchSlots[count] = slot;
+                    batchResults[count] = variableItem.getScore();
+                    count++;
+                }
+            }
+
+            if (count > 0 && binding.getHealth().allowCall(System.nanoTime())) {
+                if (async) {
+                    //the results are sent by commitAsync like the other async replaces
+                    asyncEvaluator.submitBatch(variableItem, batchPlayers, count, batchResults
+                            , binding.getReplacer(), binding.getBatchAccessor());
+                } else if (invokeBatch(binding, batchPlayers, count, batchResults)) {
+                    for (int i = 0; i < count; i++) {
+                        batchScores.put(batchSlots[i], index, batchResults[i]);
+                    }
+                }
+            }
+
+            //don't keep the players alive
+            Arrays.fill(batchPlayers, 0, count, null);
+        }
+    }
+
+    private boolean invokeBatch(VariableBinding binding, Player[] players, int length, int[] scores) {
+        ReplacerHealth health = binding.getHealth();
+        long start = System.nanoTime();
+        try {
+            binding.getBatchAccessor().onReplace(players, length, scores);
+        } catch (LinkageError linkageError) {
+            VariableReplaceAdapter<?> replacer = binding.getReplacer();
+            plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", replacer), linkageError);
+            unregister(replacer);
+            return false;
+        } catch (Exception replacerException) {
+            onFailure(health, replacerException, System.nanoTime() - start);
+            return false;
+        }
+
+        long end = System.nanoTime();
+        //the budget applies to a single player
+        if (health.record((end - start) / length, false, end)) {
+            logPaused(health, null);
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the variable of this scoreboard item should be replaced again for this player. Variables can have
+     * their own refresh delay or back off if their value doesn't change.
+     *
+     * @param player the associated player
+     * @param variableItem the scoreboard item
+     * @return true if the variable should be replaced
+     */
+    public boolean isDue(Player player, VariableItem variableItem) {
+        return isDue(plugin.getPlayerRegistry().getSlot(player), variableItem);
+    }
+
+    /**
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item
+     * @return true if the variable should be replaced
+     * @see #isDue(Player, VariableItem)
+     */
+    public boolean isDue(int slot, VariableItem variableItem) {
+        return schedule.isDue(slot, variableItem, System.currentTimeMillis());
+    }
+
+    /**
+     * Schedules the next replace of the variable after it was replaced.
+     *
+     * @param player the associated player
+     * @param variableItem the scoreboard item
+     * @param score the replaced score
+     */
+    public void onReplaced(Player player, VariableItem variableItem, int score) {
+        onReplaced(plugin.getPlayerRegistry().getSlot(player), variableItem, score);
     }
 
     /**
-     * Executes an update on all global replacers
+     * @param slot the slot of the player
+     * @param variableItem the scoreboard item
+     * @param score the replaced score
+     * @see #onReplaced(Player, VariableItem, int)
+     */
+    public void onReplaced(int slot, VariableItem variableItem, int score) {
+        schedule.onReplaced(slot, variableItem, score, System.currentTimeMillis());
+    }
+
+    /**
+     * Removes all scheduled variable refreshes of this player.
+     *
+     * @param player the associated player
+     */
+    public void clearSchedule(Player player) {
+        int slot = plugin.getPlayerRegistry().getSlot(player);
+        schedule.remove(slot);
+        batchScores.remove(slot);
+        derivedVariables.remove(player);
+        eventUpdates.remove(player);
+    }
+
+    /**
+     * Executes an update on all global replacers. Every global variable is replaced only once and the changed
+     * values are sent to all players in one batch.
      */
     public void updateGlobals() {
+        //only allocated if something changed
+        VariableItem[] changedItems = null;
+        int[] changedScores = null;
+        int changed = 0;
+        Map<String, Integer> changedInputs = null;
+        Map<String, VariableReplaceAdapter<?>> globals = registry.getGlobals();
         for (Map.Entry<String, VariableReplaceAdapter<?>> entrySet : globals.entrySet()) {
             String variable = entrySet.getKey();
             VariableItem variableItem = Settings.getMainScoreboard().getItemsByVariable().get(variable);
-            if (variableItem == null) {
+            //the derived variables don't poll global inputs themselves
+            boolean input = derivedVariables.isInput(variable);
+            if (variableItem == null && !input) {
                 continue;
             }
 
-            ReplaceEvent replaceEvent = new ReplaceEvent(variable, false, variableItem.getDisplayText(), -1);
+            String displayText = variableItem == null ? null : variableItem.getDisplayText();
 
             VariableReplaceAdapter<? extends Plugin> globalReplacer = entrySet.getValue();
-            globalReplacer.onReplace(null, variable, replaceEvent);
-            if (replaceEvent.isModified()) {
+            ReplacerHealth health = getHealth(globalReplacer);
+            if (!health.allowCall(System.nanoTime())) {
+                continue;
+            }
+
+            if (globalReplacer.isAsync()) {
+                asyncEvaluator.submit(null, variable, displayText, -1, globalReplacer, globalReplacer);
+                continue;
+            }
+
+            ReplaceEvent replaceEvent = reuseEvent(variable, displayText, -1);
+            if (!invoke(health, globalReplacer, globalReplacer, null, variable, replaceEvent)
+                    || !replaceEvent.isModified() || !isGlobalChanged(variable, replaceEvent.getScore())) {
+                continue;
+            }
+
+            if (variableItem != null) {
+                if (changedItems == null) {
+                    changedItems = new VariableItem[globals.size()];
+                    changedScores = new int[changedItems.length];
+                }
+
+                changedItems[changed] = variableItem;
+                changedScores[changed] = replaceEvent.getScore();
+                changed++;
+            }
+
+            if (input) {
+                if (changedInputs == null) {
+                    changedInputs = Maps.newHashMap();
+                }
+
+                changedInputs.put(variable, replaceEvent.getScore());
+            }
+        }
+
+        broadcast(changedItems, changedScores, changed, changedInputs);
+        //the global update runs once per interval
+        scopedCache.cleanUp(System.currentTimeMillis());
+    }
+
+    private boolean isGlobalChanged(String variable, int score) {
+        Integer oldScore = globalScores.put(variable, score);
+        return oldScore == null || oldScore != score;
+    }
+
+    private void broadcast(VariableItem[] items, int[] scores, int length, Map<String, Integer> changedInputs) {
+        if (length == 0 && changedInputs == null) {
+            return;
+        }
+
+        PluginScheduler scheduler = plugin.getScheduler();
+        for (Player player : plugin.getPlayerRegistry().getOnlinePlayers()) {
+            if (scheduler.isOwner(player)) {
+                sendScores(player, items, scores, length, changedInputs);
+            } else {
+                //one task per player for the complete batch
+                scheduler.runForPlayer(player, () -> sendScores(player, items, scores, length, changedInputs));
+            }
+        }
+    }
+
+    //the inputs of the derived variables belong to the thread of the player, so they are calculated here
+    private void sendScores(Player player, VariableItem[] items, int[] scores, int length
+            , Map<String, Integer> changedInputs) {
+        for (int i = 0; i < length; i++) {
+            sbManager.update(player, items[i].getDisplayText(), scores[i]);
+        }
+
+        if (changedInputs == null) {
+            return;
+        }
+
+        Map<String, Integer> results = Maps.newHashMap();
+        changedInputs.forEach((variable, score) -> derivedVariables.onInputChanged(player, variable, score, results));
+
+        Map<String, VariableItem> itemsByVariable = Settings.getMainScoreboard().getItemsByVariable();
+        results.forEach((variable, score) -> {
+            VariableItem variableItem = itemsByVariable.get(variable);
+            if (variableItem != null) {
+                sbManager.update(player, variableItem.getDisplayText(), score);
+            }
+        });
+    }
+
+    /**
+     * Get the queue of the variables that are updated after events
+     *
+     * @return the queue of the event updates
+     */
+    public EventUpdateQueue getEventUpdates() {
+        return eventUpdates;
+    }
+
+    /**
+     * Sends the updates of the events that are due in this tick.
+     */
+    public void flushEvents() {
+        eventUpdates.drain();
+    }
+
+    /**
+     * Starts the evaluation of all async replaces that were requested in this tick.
+     */
+    public void flushAsync() {
+        asyncEvaluator.flush();
+    }
+
+    /**
+     * Sends the results of all finished async replaces to the scoreboards. The scoreboards are updated on the
+     * threads that own the players.
+     */
+    public void commitAsync() {
+        AsyncEvaluator.BatchRequest batch;
+        while ((batch = asyncEvaluator.pollBatch()) != null) {
+            commitBatch(batch);
+        }
+
+        AsyncEvaluator.Request request;
+        while ((request = asyncEvaluator.poll()) != null) {
+            VariableReplaceAdapter<?> replacer = request.getReplacer();
+            ReplacerHealth health = getHealth(replacer);
+            Throwable error = request.getError();
+            if (error instanceof LinkageError) {
+                //the plugin is missing classes - a retry won't help
+                plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", replacer), error);
+                unregister(replacer);
+                continue;
+            }
+
+            if (error != null) {
+                onFailure(health, error, request.getNanos());
+                continue;
+            }
+
+            if (health.record(request.getNanos(), false, System.nanoTime())) {
+                logPaused(health, null);
+            }
+
+            ReplaceEvent replaceEvent = request.getReplaceEvent();
+            if (!replaceEvent.isModified()) {
+                continue;
+            }
+
+            String variable = request.getVariable();
+            Player player = request.getPlayer();
+            if (player == null) {
+                //global variable - only sent if it changed
                 updateScore(variable, replaceEvent.getScore());
+            } else if (player.isOnline()) {
+                VariableItem variableItem = Settings.getMainScoreboard().getItemsByVariable().get(variable);
+                if (variableItem != null) {
+                    plugin.getScheduler().runForPlayer(player, () -> {
+                        onReplaced(player, variableItem, replaceEvent.getScore());
+                        sbManager.update(player, variableItem.getDisplayText(), replaceEvent.getScore());
+                    });
+                }
+            }
+        }
+    }
+
+    private void commitBatch(AsyncEvaluator.BatchRequest batch) {
+        VariableReplaceAdapter<?> replacer = batch.getReplacer();
+        ReplacerHealth health = getHealth(replacer);
+        Throwable error = batch.getError();
+        if (error instanceof LinkageError) {
+            plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", replacer), error);
+            unregister(replacer);
+            return;
+        }
+
+        if (error != null) {
+            onFailure(health, error, batch.getNanos());
+            return;
+        }
+
+        long end = System.nanoTime();
+        //the budget applies to a single player
+        if (health.record(batch.getNanos() / batch.getLength(), false, end)) {
+            logPaused(health, null);
+        }
+
+        VariableItem variableItem = batch.getVariableItem();
+        Player[] players = batch.getPlayers();
+        int[] scores = batch.getScores();
+        for (int i = 0; i < batch.getLength(); i++) {
+            Player player = players[i];
+            int score = scores[i];
+            if (player.isOnline()) {
+                plugin.getScheduler().runForPlayer(player, () -> {
+                    onReplaced(player, variableItem, score);
+                    sbManager.update(player, variableItem.getDisplayText(), score);
+                });
             }
         }
     }
@@ -295,7 +1285,11 @@ public class ReplaceManager implements Listener {
     }
 
     protected Map<String, VariableReplaceAdapter<? extends Plugin>> getReplacers() {
-        return specificReplacer;
+        return registry.getReplacers();
+    }
+
+    protected PrefixIndex<VariableReplaceAdapter<?>> getWildcards() {
+        return wildcards;
     }
 
     protected boolean registerDefault(Class<? extends VariableReplaceAdapter<?>> replacerClass, String pluginName) {
@@ -326,28 +1320,64 @@ public class ReplaceManager implements Listener {
 
     private void getScoreLegacy(Player player, String variable, ReplaceEvent replaceEvent)
             throws UnknownVariableException {
-        for (Iterator<VariableReplaceAdapter<?>> iterator = legacyReplacers.iterator(); iterator.hasNext();) {
-            VariableReplaceAdapter<?> legacyReplacer = iterator.next();
+        VariableReplaceAdapter<?> wildcardReplacer = wildcards.find(variable);
+        if (wildcardReplacer != null) {
+            //the variable belongs to this replacer even if it fails - the scoreboard keeps the last value
+            if (invokeLegacy(wildcardReplacer, player, variable, replaceEvent) && replaceEvent.isModified()) {
+                putReplacer(variable, wildcardReplacer);
+            }
 
-            try {
-                legacyReplacer.onReplace(player, variable, replaceEvent);
-            } catch (LinkageError | Exception replacerException) {
-                plugin.getLogger().log(Level.WARNING, Lang.get("replacerException", legacyReplacer), replacerException);
-                iterator.remove();
+            return;
+        }
+
+        //wildcard replacers can handle more variables than they declare and old replacers have no list at all
+        boolean failed = false;
+        for (VariableReplaceAdapter<?> candidate : Iterables.concat(wildcards.values()
+                , registry.getLegacyReplacers())) {
+            if (!invokeLegacy(candidate, player, variable, replaceEvent)) {
+                //it could be the replacer of this variable
+                failed = true;
+                continue;
             }
 
             if (replaceEvent.isModified()) {
-                specificReplacer.put(variable, legacyReplacer);
+                putReplacer(variable, candidate);
                 //fast return
                 return;
             }
         }
 
-        if (!replaceEvent.isModified()) {
+        if (!failed && !replaceEvent.isModified()) {
             throw new UnknownVariableException("Variable '" + variable + "' not found");
         }
     }
 
+    //failures are recorded like the ones of bound replacers, so a single exception doesn't remove the replacer
+    private boolean invokeLegacy(VariableReplaceAdapter<?> replacer, Player player, String variable
+            , ReplaceEvent replaceEvent) {
+        ReplacerHealth health = getHealth(replacer);
+        return health.allowCall(System.nanoTime())
+                && invoke(health, replacer, replacer, player, variable, replaceEvent);
+    }
+
+    /**
+     * Registers a default replacer if one of its variables is used. Otherwise it will be registered on the next
+     * rebind that references one of the variables.
+     *
+     * @param replacerClass the default replacer
+     * @param pluginName the name of the associated plugin or empty for this plugin
+     * @return if the replacer was registered
+     */
+    protected boolean enableDefault(Class<? extends VariableReplaceAdapter<?>> replacerClass, String pluginName) {
+        SidebarConfig sidebarConfig = Settings.getMainScoreboard();
+        if (sidebarConfig == null || isReferenced(replacerClass, getReferencedVariables(sidebarConfig))) {
+            return registerDefault(replacerClass, pluginName);
+        }
+
+        pendingDefaults.put(replacerClass, pluginName);
+        return false;
+    }
+
     //add all replacers that are in the defaults map
     private void addDefaultReplacers() {
         Set<String> replacersName = Sets.newHashSet();
@@ -356,7 +1386,7 @@ public class ReplaceManager implements Listener {
             //Check if the plugin is available and active
             if (pluginName.isEmpty() || Bukkit.getPluginManager().isPluginEnabled(pluginName)) {
                 Class<? extends VariableReplaceAdapter<?>> clazz = entry.getKey();
-                if (registerDefault(clazz, pluginName)) {
+                if (enableDefault(clazz, pluginName)) {
                     //just add it if it was succesfull
                     replacersName.add(clazz.getSimpleName());
                 }
@@ -365,6 +1395,76 @@ public class ReplaceManager implements Listener {
 
         //log registered replacers
         plugin.getLogger().log(Level.INFO, "Registered replacers: {0}", replacersName);
+        if (!pendingDefaults.isEmpty()) {
+            Set<String> pendingNames = Sets.newHashSet();
+            pendingDefaults.keySet().forEach(clazz -> pendingNames.add(clazz.getSimpleName()));
+            plugin.getLogger().log(Level.FINE, "Unused replacers: {0}", pendingNames);
+        }
+    }
+
+    private void registerReferenced(Set<String> referenced) {
+        List<Map.Entry<Class<? extends VariableReplaceAdapter<?>>, String>> found = Lists.newArrayList();
+        for (Map.Entry<Class<? extends VariableReplaceAdapter<?>>, String> entry : pendingDefaults.entrySet()) {
+            if (isReferenced(entry.getKey(), referenced) && pendingDefaults.remove(entry.getKey()) != null) {
+                found.add(entry);
+            }
+        }
+
+        //registering rebinds again, so they are removed from the pending ones before
+        for (Map.Entry<Class<? extends VariableReplaceAdapter<?>>, String> entry : found) {
+            if (registerDefault(entry.getKey(), entry.getValue())) {
+                plugin.getLogger().log(Level.INFO, "Registered replacer: {0}", entry.getKey().getSimpleName());
+            }
+        }
+    }
+
+    private boolean isReferenced(Class<? extends VariableReplaceAdapter<?>> replacerClass, Set<String> referenced) {
+        Supplier<String[]> variables = DEFAULT_VARIABLES.get(replacerClass);
+        if (variables == null) {
+            return true;
+        }
+
+        for (String variable : variables.get()) {
+            if (referenced.contains(variable)) {
+                return true;
+            }
+
+            if (variable.contains("*")) {
+                String prefix = PrefixIndex.getPrefix(variable);
+                for (String used : referenced) {
+                    if (used.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    //all variables of the lines, texts, the title and the inputs of derived variables
+    private Set<String> getReferencedVariables(SidebarConfig sidebarConfig) {
+        Set<String> referenced = Sets.newHashSet(sidebarConfig.getItemsByVariable().keySet());
+        addVariables(sidebarConfig.getTitleTemplate(), referenced);
+        for (VariableItem textItem : sidebarConfig.getTextItems()) {
+            addVariables(textItem.getTemplate(), referenced);
+        }
+
+        for (CompiledExpression expression : Settings.getDerivedVariables().values()) {
+            referenced.addAll(expression.getInputs());
+        }
+
+        return referenced;
+    }
+
+    private void addVariables(TextTemplate template, Set<String> referenced) {
+        if (template == null) {
+            return;
+        }
+
+        for (int segment = 0; segment < template.getVariableCount(); segment++) {
+            referenced.add(template.getVariable(segment));
+        }
     }
 
     private VariableReplaceAdapter<?> createInstance(Class<? extends VariableReplaceAdapter<?>> replacerClass)
@@ -0,0 +1,168 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.config.Settings;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker for a single replacer. It keeps track of the average time and the error rate of the replacer.
+ * If one of them is above the configured limit, the circuit opens and the replacer won't be called until the
+ * retry time. Meanwhile the scoreboards keep showing the last value. A failed retry doubles the waiting time.
+ */
+public class ReplacerHealth {
+
+    private static final long MIN_BACKOFF = TimeUnit.SECONDS.toNanos(5);
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toNanos(5);
+
+    //a few slow calls after a server start shouldn't open the circuit
+    private static final int MIN_SAMPLES = 10;
+    private static final double WEIGHT = 0.1;
+
+    private final String name;
+
+    private long calls;
+    private long failures;
+    private double averageNanos;
+    private double errorRate;
+
+    private boolean open;
+    private boolean probing;
+    private long retryAt;
+    private long backoff;
+
+    /**
+     * Creates a new closed circuit breaker
+     *
+     * @param name the name of the replacer
+     */
+    public ReplacerHealth(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the display name of the replacer
+     *
+     * @return the display name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks if the replacer can be called. If the retry time is reached a single call will be allowed to test
+     * the replacer again.
+     *
+     * @param now the current time from {@link System#nanoTime()}
+     * @return true if the replacer can be called
+     */
+    public synchronized boolean allowCall(long now) {
+        if (!open) {
+            return true;
+        }
+
+        if (probing || now - retryAt < 0) {
+            return false;
+        }
+
+        probing = true;
+        return true;
+    }
+
+    /**
+     * Records a finished call of the replacer.
+     *
+     * @param nanos the duration of the call in nanoseconds
+     * @param failed whether the call threw an exception
+     * @param now the current time from {@link System#nanoTime()}
+     * @return true if the circuit opened because of this call
+     */
+    public synchronized boolean record(long nanos, boolean failed, long now) {
+        calls++;
+        if (failed) {
+            failures++;
+        }
+
+        //exponential moving average
+        averageNanos = calls == 1 ? nanos : averageNanos + WEIGHT * (nanos - averageNanos);
+        errorRate += WEIGHT * ((failed ? 1 : 0) - errorRate);
+
+        if (probing) {
+            probing = false;
+            if (failed || isOverBudget(nanos)) {
+                backoff = Math.min(backoff * 2, MAX_BACKOFF);
+                retryAt = now + backoff;
+            } else {
+                //it's working again
+                open = false;
+                errorRate = 0;
+                averageNanos = nanos;
+            }
+
+            return false;
+        }
+
+        if (!open && calls >= MIN_SAMPLES && (isOverBudget(averageNanos) || isOverErrorRate())) {
+            open = true;
+            backoff = MIN_BACKOFF;
+            retryAt = now + backoff;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Check whether the replacer is skipped at the moment
+     *
+     * @return whether the circuit is open
+     */
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Get the average duration of a call
+     *
+     * @return the average in milliseconds
+     */
+    public synchronized double getAverageMillis() {
+        return averageNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the recent error rate
+     *
+     * @return the error rate between 0 and 1
+     */
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Get the number of calls since the replacer was registered
+     *
+     * @return the number of calls
+     */
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Get the number of failed calls since the replacer was registered
+     *
+     * @return the number of failed calls
+     */
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    private boolean isOverBudget(double nanos) {
+        double budget = Settings.getReplacerBudget();
+        return budget > 0 && nanos > budget * TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private boolean isOverErrorRate() {
+        int maxErrorRate = Settings.getReplacerErrorRate();
+        return maxErrorRate > 0 && errorRate * 100 >= maxErrorRate;
+    }
+}
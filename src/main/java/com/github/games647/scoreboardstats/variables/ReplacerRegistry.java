@@ -0,0 +1,127 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable snapshot of all registered replacers. Changes create a new snapshot with an {@link Editor}, so the
+ * snapshot can be read from every thread without a lock.
+ */
+class ReplacerRegistry {
+
+    static final ReplacerRegistry EMPTY = new ReplacerRegistry(ImmutableMap.of(), ImmutableMap.of()
+            , ImmutableSet.of(), ImmutableList.of());
+
+    private final ImmutableMap<String, VariableReplaceAdapter<?>> replacers;
+    private final ImmutableMap<String, VariableReplaceAdapter<?>> globals;
+    private final ImmutableSet<String> skipped;
+    private final ImmutableList<VariableReplaceAdapter<?>> legacyReplacers;
+
+    private ReplacerRegistry(ImmutableMap<String, VariableReplaceAdapter<?>> replacers
+            , ImmutableMap<String, VariableReplaceAdapter<?>> globals, ImmutableSet<String> skipped
+            , ImmutableList<VariableReplaceAdapter<?>> legacyReplacers) {
+        this.replacers = replacers;
+        this.globals = globals;
+        this.skipped = skipped;
+        this.legacyReplacers = legacyReplacers;
+    }
+
+    public VariableReplaceAdapter<?> getReplacer(String variable) {
+        return replacers.get(variable);
+    }
+
+    public boolean isSkipped(String variable) {
+        return skipped.contains(variable);
+    }
+
+    public ImmutableMap<String, VariableReplaceAdapter<?>> getReplacers() {
+        return replacers;
+    }
+
+    public ImmutableMap<String, VariableReplaceAdapter<?>> getGlobals() {
+        return globals;
+    }
+
+    public ImmutableList<VariableReplaceAdapter<?>> getLegacyReplacers() {
+        return legacyReplacers;
+    }
+
+    /**
+     * @return a mutable copy of this snapshot
+     */
+    public Editor edit() {
+        return new Editor(this);
+    }
+
+    /**
+     * Collects the changes for the next snapshot.
+     */
+    static class Editor {
+
+        private final Map<String, VariableReplaceAdapter<?>> replacers;
+        private final Map<String, VariableReplaceAdapter<?>> globals;
+        private final Set<String> skipped;
+        private final List<VariableReplaceAdapter<?>> legacyReplacers;
+
+        private Editor(ReplacerRegistry registry) {
+            replacers = Maps.newHashMap(registry.replacers);
+            globals = Maps.newHashMap(registry.globals);
+            skipped = Sets.newHashSet(registry.skipped);
+            legacyReplacers = Lists.newArrayList(registry.legacyReplacers);
+        }
+
+        public void putReplacer(String variable, VariableReplaceAdapter<?> replacer) {
+            replacers.put(variable, replacer);
+        }
+
+        public void putGlobal(String variable, VariableReplaceAdapter<?> replacer) {
+            globals.put(variable, replacer);
+        }
+
+        /**
+         * Marks the variable as updated by events or as global, so it only needs an initial value per player.
+         *
+         * @param variable the variable
+         * @return true if the variable wasn't skipped before
+         */
+        public boolean skip(String variable) {
+            if (skipped.add(variable)) {
+                //they are updated with events so we don't need to update it manually
+                globals.remove(variable);
+                return true;
+            }
+
+            return false;
+        }
+
+        public void addLegacy(VariableReplaceAdapter<?> replacer) {
+            legacyReplacers.add(replacer);
+        }
+
+        /**
+         * Removes every matching replacer from the variables and the legacy replacers.
+         *
+         * @param filter the replacers to remove
+         * @return if a replacer was removed
+         */
+        public boolean removeIf(Predicate<VariableReplaceAdapter<?>> filter) {
+            boolean found = replacers.values().removeIf(filter);
+            globals.values().removeIf(filter);
+            return legacyReplacers.removeIf(filter) || found;
+        }
+
+        public ReplacerRegistry build() {
+            return new ReplacerRegistry(ImmutableMap.copyOf(replacers), ImmutableMap.copyOf(globals)
+                    , ImmutableSet.copyOf(skipped), ImmutableList.copyOf(legacyReplacers));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+/**
+ * Shares the values of variables between all players of the same scope like a world, a faction or a clan. A value
+ * is valid for the time to live of the replacer and then it will be replaced again by the next player of that scope.
+ *
+ * @see VariableReplaceAdapter#getScope(org.bukkit.entity.Player, String)
+ */
+public class ScopedCache {
+
+    //players of the same scope could be owned by different threads
+    private final Map<String, Map<Object, Entry>> entries = Maps.newConcurrentMap();
+
+    /**
+     * Applies the shared value of the scope to the replace event if it's still valid.
+     *
+     * @param variable the variable
+     * @param scope the scope key of the player
+     * @param replaceEvent the event of the player
+     * @param now the current time in milliseconds
+     * @return true if the shared value was applied
+     */
+    public boolean apply(String variable, Object scope, ReplaceEvent replaceEvent, long now) {
+        Map<Object, Entry> scopes = entries.get(variable);
+        if (scopes == null) {
+            return false;
+        }
+
+        Entry entry = scopes.get(scope);
+        if (entry == null || now >= entry.expire) {
+            return false;
+        }
+
+        replaceEvent.setScore(entry.score);
+        if (replaceEvent.isTextVariable() && entry.displayText != null) {
+            replaceEvent.setDisplayText(entry.displayText);
+        }
+
+        return true;
+    }
+
+    /**
+     * Shares the replaced value with all other players of this scope.
+     *
+     * @param variable the variable
+     * @param scope the scope key of the player
+     * @param replaceEvent the replaced event
+     * @param expire the time in milliseconds after which the value has to be replaced again
+     */
+    public void put(String variable, Object scope, ReplaceEvent replaceEvent, long expire) {
+        entries.computeIfAbsent(variable, key -> Maps.newConcurrentMap())
+                .put(scope, new Entry(replaceEvent.getScore(), replaceEvent.getDisplayText(), expire));
+    }
+
+    /**
+     * Removes all expired values, so the scopes of players who left don't stay forever.
+     *
+     * @param now the current time in milliseconds
+     */
+    public void cleanUp(long now) {
+        for (Map<Object, Entry> scopes : entries.values()) {
+            scopes.values().removeIf(entry -> now >= entry.expire);
+        }
+    }
+
+    /**
+     * Removes all shared values
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Entry {
+
+        private final int score;
+        private final String displayText;
+        private final long expire;
+
+        Entry(int score, String displayText, long expire) {
+            this.score = score;
+            this.displayText = displayText;
+            this.expire = expire;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.config.TextTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the rendered texts of every player. The entries are saved by the slot of the player and the index of the
+ * scoreboard item. The title has its own entry.
+ *
+ * @see com.github.games647.scoreboardstats.PlayerRegistry
+ */
+public class TextCache {
+
+    private static final int MAX_LINES = Integer.SIZE;
+
+    //the texts of a player are only accessed by the thread that owns the player
+    private volatile RenderedText[][] entries = new RenderedText[16][];
+
+    /**
+     * Get the rendered state of the template. A new state will be created if the template changed, for example
+     * after a reload.
+     *
+     * @param slot the slot of the player
+     * @param line the index of the scoreboard item or -1 for the title
+     * @param template the compiled template
+     * @return the rendered state or a new one that is not cached if the player isn't registered
+     */
+    public RenderedText get(int slot, int line, TextTemplate template) {
+        if (slot < 0 || line >= MAX_LINES) {
+            return new RenderedText(template);
+        }
+
+        RenderedText[] lines = getOrCreate(slot);
+        //the title is saved after the lines
+        int index = line == -1 ? MAX_LINES : line;
+        RenderedText rendered = lines[index];
+        if (rendered == null || rendered.getTemplate() != template) {
+            rendered = new RenderedText(template);
+            lines[index] = rendered;
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Forgets all texts of this player
+     *
+     * @param slot the slot of the player
+     */
+    public void remove(int slot) {
+        RenderedText[][] current = entries;
+        if (slot >= 0 && slot < current.length && current[slot] != null) {
+            Arrays.fill(current[slot], null);
+        }
+    }
+
+    private RenderedText[] getOrCreate(int slot) {
+        RenderedText[][] current = entries;
+        if (slot < current.length && current[slot] != null) {
+            return current[slot];
+        }
+
+        //the entry would be lost if another thread grows the array at the same time
+        synchronized (this) {
+            if (slot >= entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(slot + 1, entries.length * 2));
+            }
+
+            RenderedText[] lines = entries[slot];
+            if (lines == null) {
+                lines = new RenderedText[MAX_LINES + 1];
+                entries[slot] = lines;
+            }
+
+            return lines;
+        }
+    }
+}
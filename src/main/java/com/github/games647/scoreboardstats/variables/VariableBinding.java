@@ -0,0 +1,83 @@
+package com.github.games647.scoreboardstats.variables;
+
+/**
+ * A scoreboard item that is already resolved to its replacer. The accessor can be a specialized replacer for
+ * exactly this variable, so the update doesn't need to look up or compare the variable name again.
+ *
+ * @see VariableReplaceAdapter#bind(String)
+ */
+class VariableBinding {
+
+    private final VariableReplaceAdapter<?> replacer;
+    private final VariableReplacer accessor;
+    private final boolean skipped;
+    private final long scopeTtl;
+    private final ReplacerHealth health;
+    private final BatchReplacer batchAccessor;
+
+    VariableBinding(VariableReplaceAdapter<?> replacer, VariableReplacer accessor, boolean skipped, long scopeTtl
+            , ReplacerHealth health, BatchReplacer batchAccessor) {
+        this.replacer = replacer;
+        this.accessor = accessor;
+        this.batchAccessor = batchAccessor;
+        this.skipped = skipped;
+        this.scopeTtl = scopeTtl;
+        this.health = health;
+    }
+
+    /**
+     * Get the registered replacer. Errors of the accessor will be reported for this replacer.
+     *
+     * @return the registered replacer
+     */
+    public VariableReplaceAdapter<?> getReplacer() {
+        return replacer;
+    }
+
+    /**
+     * Get the replacer for exactly this variable.
+     *
+     * @return the bound replacer
+     */
+    public VariableReplacer getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * Check whether the variable only needs an initial value, because it's global or updated with events
+     *
+     * @return whether normal updates can skip this variable
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Get how long the value can be shared between the players of the same scope
+     *
+     * @return the time to live in milliseconds or 0 if it isn't shared
+     * @see VariableReplaceAdapter#getScopeTtl(String)
+     */
+    public long getScopeTtl() {
+        return scopeTtl;
+    }
+
+    /**
+     * Get the circuit breaker of the replacer
+     *
+     * @return the health of the replacer
+     */
+    public ReplacerHealth getHealth() {
+        return health;
+    }
+
+    /**
+     * Get the replacer that resolves this variable for many players at once
+     *
+     * @return the batch replacer or null if the replacer doesn't support it
+     * @see VariableReplaceAdapter#bindBatch(String)
+     */
+    public BatchReplacer getBatchAccessor() {
+        return batchAccessor;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.SidebarConfig;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Represents a handle to push new values of a single variable to the scoreboards. Variables with a publisher are
+ * only replaced once for the first value of a scoreboard. After that they are never polled again, so the source has
+ * to publish every change.
+ *
+ * The methods are thread-safe. The scoreboards are updated on the threads that own the players.
+ *
+ * @see ReplaceManager#getPublisher(String)
+ */
+public class VariablePublisher {
+
+    private final ReplaceManager replaceManager;
+    private final String variable;
+
+    VariablePublisher(ReplaceManager replaceManager, String variable) {
+        this.replaceManager = replaceManager;
+        this.variable = variable;
+    }
+
+    /**
+     * Get the variable of this publisher
+     *
+     * @return the variable <b>without the variable identifiers (%)</b>
+     */
+    public String getVariable() {
+        return variable;
+    }
+
+    /**
+     * Checks if the variable is displayed on the scoreboard. This can be used to skip the calculation of expensive
+     * values.
+     *
+     * @return true if the scoreboard contains this variable
+     */
+    public boolean isDisplayed() {
+        SidebarConfig sidebarConfig = Settings.getMainScoreboard();
+        return sidebarConfig != null && sidebarConfig.getItemsByVariable().containsKey(variable);
+    }
+
+    /**
+     * Sends a new value of this variable to a single player. Nothing will be sent if the value didn't change.
+     *
+     * @param player the player who owns the scoreboard
+     * @param score the new value
+     */
+    public void publish(Player player, int score) {
+        replaceManager.updateScore(player, variable, score);
+    }
+
+    /**
+     * Sends a new value of this variable to all players. Nothing will be sent if the value didn't change.
+     *
+     * @param score the new value
+     */
+    public void publishGlobal(int score) {
+        replaceManager.updateScore(variable, score);
+    }
+
+    /**
+     * Sends new values of multiple variables to all players in one batch. Nothing will be sent for the values that
+     * didn't change.
+     *
+     * @param scores the new values by their publishers
+     */
+    public static void publishGlobal(Map<VariablePublisher, Integer> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> byVariable = Maps.newHashMapWithExpectedSize(scores.size());
+        scores.forEach((publisher, score) -> byVariable.put(publisher.variable, score));
+        scores.keySet().iterator().next().replaceManager.updateScores(byVariable);
+    }
+}
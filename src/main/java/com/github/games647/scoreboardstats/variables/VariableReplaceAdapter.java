@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 /**
@@ -94,6 +95,59 @@ public abstract class VariableReplaceAdapter<P extends Plugin> implements Variab
         return constant;
     }
 
+    /**
+     * Resolves the replacer for a single variable. This will be called once when the scoreboard is loaded or a
+     * replacer is registered. The returned replacer is then called on every update instead of the generic
+     * {@link #onReplace(org.bukkit.entity.Player, String, ReplaceEvent)}, so it can skip the comparisons of the
+     * variable name.
+     *
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return a replacer that only handles this variable or this instance
+     */
+    public VariableReplacer bind(String variable) {
+        return this;
+    }
+
+    /**
+     * Resolves a replacer that can replace this variable for many players in a single call. If it's supported, the
+     * due players are grouped once per refresh cycle and passed to the batch replacer instead of calling
+     * {@link #onReplace(org.bukkit.entity.Player, String, ReplaceEvent)} for every player. The single replace is
+     * still used for the first values of a scoreboard.
+     *
+     * The batch replacer is called from the thread of the refresh task. Replacers that aren't async will only
+     * receive players that are owned by that thread.
+     *
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return the batch replacer or null if it isn't supported
+     */
+    public BatchReplacer bindBatch(String variable) {
+        return null;
+    }
+
+    /**
+     * Get how long the value of this variable can be shared between the players of the same scope. If the time is
+     * greater than 0, {@link #getScope(org.bukkit.entity.Player, String)} will be called to find the scope.
+     *
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return the time to live in milliseconds or 0 if the value is specific to every player
+     */
+    public long getScopeTtl(String variable) {
+        return 0;
+    }
+
+    /**
+     * Get the key of the group of players that have the same value for this variable, for example the name of
+     * the world or the id of the faction. The variable will be replaced only once per scope and time to live.
+     *
+     * @param player the player who owns the scoreboard
+     * @param variable the variable <b>without the variable identifiers (%)</b>
+     * @return the scope key with a proper equals and hashCode or null if the player doesn't belong to any scope
+     * @see #getScopeTtl(String)
+     */
+    public Object getScope(Player player, String variable) {
+        return null;
+    }
+
     /**
      * Get the default variable descriptions of all variables
      *
@@ -18,12 +18,14 @@ import org.bukkit.util.NumberConversions;
 
 public class ASkyBlockVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
 
+    public static final String[] VARIABLES = {"island-level", "challenge_done", "challenge_incomplete"
+            , "challenge_total", "challenge_unique"};
+
     private final ASkyBlockAPI skyBlockAPI = ASkyBlockAPI.getInstance();
     private final ReplaceManager replaceManager;
 
     public ASkyBlockVariables(ReplaceManager replaceManager) {
-        super(Bukkit.getPluginManager().getPlugin("ASkyBlock")
-                , "island-level", "challenge_done", "challenge_incomplete", "challenge_total", "challenge_unique");
+        super(Bukkit.getPluginManager().getPlugin("ASkyBlock"), VARIABLES);
 
         this.replaceManager = replaceManager;
     }
@@ -0,0 +1,30 @@
+package com.github.games647.scoreboardstats.variables.defaults;
+
+import com.github.games647.scoreboardstats.ActivityTracker;
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.variables.ReplaceEvent;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Replace the variables about the activity of a player
+ */
+public class ActivityVariables extends DefaultReplaceAdapter<ScoreboardStats> {
+
+    public static final String[] VARIABLES = {"activity_tier", "idle_time"};
+
+    public ActivityVariables() {
+        super((ScoreboardStats) Bukkit.getPluginManager().getPlugin("ScoreboardStats"), VARIABLES);
+    }
+
+    @Override
+    public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
+        ActivityTracker activityTracker = getPlugin().getActivityTracker();
+        if ("activity_tier".equals(variable)) {
+            replaceEvent.setScore(activityTracker.getTier(player));
+        } else if ("idle_time".equals(variable)) {
+            replaceEvent.setScore(activityTracker.getIdleSeconds(player));
+        }
+    }
+}
@@ -14,11 +14,13 @@ import org.bukkit.plugin.Plugin;
 
 public class BukkitGamesVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
 
+    public static final String[] VARIABLES = {"coins"};
+
     private final ReplaceManager replaceManager;
     private final BukkitGamesAPI bukkitGamesAPI = BukkitGamesAPI.getApi();
 
     public BukkitGamesVariables(ReplaceManager replaceManager) {
-        super(Bukkit.getPluginManager().getPlugin("BukkitGames"), "coins");
+        super(Bukkit.getPluginManager().getPlugin("BukkitGames"), VARIABLES);
 
         this.replaceManager = replaceManager;
     }
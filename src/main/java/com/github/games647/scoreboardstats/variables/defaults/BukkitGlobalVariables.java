@@ -20,10 +20,12 @@ import org.bukkit.util.NumberConversions;
  */
 public class BukkitGlobalVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
 
+    public static final String[] VARIABLES = {"tps", "online", "max_player"};
+
     private final ReplaceManager replaceManager;
 
     public BukkitGlobalVariables(ReplaceManager replaceManager) {
-        super(null, "", true, false, false, "tps", "online", "max_player");
+        super(null, "", true, false, false, VARIABLES);
 
         this.replaceManager = replaceManager;
     }
@@ -1,6 +1,9 @@
 package com.github.games647.scoreboardstats.variables.defaults;
 
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
+import com.github.games647.scoreboardstats.variables.VariableReplacer;
+
+import java.util.concurrent.TimeUnit;
 
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
@@ -13,84 +16,83 @@ import org.bukkit.util.NumberConversions;
  */
 public class BukkitVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
 
+    public static final String[] VARIABLES = {"health", "lifetime", "exp", "no_damage_ticks", "xp_to_level"
+            , "last_damage", "helmet", "boots", "leggings", "chestplate", "time", "meta_*"};
+
     private static final int MINUTE_TO_SECOND = 60;
+    private static final long WORLD_TTL = TimeUnit.SECONDS.toMillis(1);
 
     public BukkitVariables() {
-        super(null, "health", "lifetime", "exp", "no_domage_ticks", "xp_to_Level", "last_damage"
-                , "helmet", "boots", "leggings", "chestplate", "time"
-                , "meta_*");
+        super(null, VARIABLES);
     }
 
     @Override
     public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
-        if ("health".equals(variable)) {
-            replaceEvent.setScore(NumberConversions.round(player.getHealth()));
-            return;
-        }
-
-        if ("lifetime".equals(variable)) {
-            // --> Minutes
-            replaceEvent.setScore(player.getTicksLived() / (20 * MINUTE_TO_SECOND));
-            return;
-        }
-
-        if ("exp".equals(variable)) {
-            replaceEvent.setScore(player.getTotalExperience());
-            return;
-        }
-
-        if ("no_damage_ticks".equals(variable)) {
-            // --> Minutes
-            replaceEvent.setScore(player.getNoDamageTicks() / (20 * MINUTE_TO_SECOND));
-            return;
-        }
-
-        if ("xp_to_level".equals(variable)) {
-            replaceEvent.setScore(player.getExpToLevel());
-            return;
-        }
-
-        if ("last_damage".equals(variable)) {
-            replaceEvent.setScore((int) (player.getLastDamage()));
-            return;
-        }
-
-        if ("helmet".equals(variable)) {
-            replaceEvent.setScore(calculateDurability(player.getInventory().getHelmet()));
-            return;
-        }
-
-        if ("boots".equals(variable)) {
-            replaceEvent.setScore(calculateDurability(player.getInventory().getBoots()));
-            return;
+        VariableReplacer accessor = bind(variable);
+        if (accessor != this) {
+            accessor.onReplace(player, variable, replaceEvent);
         }
+    }
 
-        if ("leggings".equals(variable)) {
-            replaceEvent.setScore(calculateDurability(player.getInventory().getLeggings()));
-            return;
-        }
+    @Override
+    public long getScopeTtl(String variable) {
+        //the time is the same for all players of a world
+        return "time".equals(variable) ? WORLD_TTL : 0;
+    }
 
-        if ("chestplate".equals(variable)) {
-            replaceEvent.setScore(calculateDurability(player.getInventory().getChestplate()));
-            return;
-        }
+    @Override
+    public Object getScope(Player player, String variable) {
+        return player.getWorld().getName();
+    }
 
-        if ("time".equals(variable)) {
-            replaceEvent.setScore((int) player.getWorld().getTime());
+    @Override
+    public VariableReplacer bind(String variable) {
+        switch (variable) {
+            case "health":
+                return (player, var, event) -> event.setScore(NumberConversions.round(player.getHealth()));
+            case "lifetime":
+                // --> Minutes
+                return (player, var, event) -> event.setScore(player.getTicksLived() / (20 * MINUTE_TO_SECOND));
+            case "exp":
+                return (player, var, event) -> event.setScore(player.getTotalExperience());
+            case "no_damage_ticks":
+                // --> Minutes
+                return (player, var, event) -> event.setScore(player.getNoDamageTicks() / (20 * MINUTE_TO_SECOND));
+            case "xp_to_level":
+                return (player, var, event) -> event.setScore(player.getExpToLevel());
+            case "last_damage":
+                return (player, var, event) -> event.setScore((int) (player.getLastDamage()));
+            case "helmet":
+                return (player, var, event) -> event.setScore(calculateDurability(player.getInventory().getHelmet()));
+            case "boots":
+                return (player, var, event) -> event.setScore(calculateDurability(player.getInventory().getBoots()));
+            case "leggings":
+                return (player, var, event) -> event.setScore(calculateDurability(player.getInventory().getLeggings()));
+            case "chestplate":
+                return (player, var, event)
+                        -> event.setScore(calculateDurability(player.getInventory().getChestplate()));
+            case "time":
+                return (player, var, event) -> event.setScore((int) player.getWorld().getTime());
+            default:
+                break;
         }
 
         if (variable.startsWith("meta_")) {
             String key = variable.replace("meta_", "");
-            //assumimg this key is unique
-            if (player.hasMetadata(key)) {
-                replaceEvent.setScore(player.getMetadata(key).get(0).asInt());
-            } else {
-                replaceEvent.setScore(-1);
-            }
+            return (player, var, event) -> {
+                //assumimg this key is unique
+                if (player.hasMetadata(key)) {
+                    event.setScore(player.getMetadata(key).get(0).asInt());
+                } else {
+                    event.setScore(-1);
+                }
+            };
         }
+
+        return super.bind(variable);
     }
 
-    private int calculateDurability(ItemStack item) {
+    private static int calculateDurability(ItemStack item) {
         //Check if the user have an item on the slot and if the item isn't a stone block or something
         if (item == null || item.getType().getMaxDurability() == 0) {
             return 0;
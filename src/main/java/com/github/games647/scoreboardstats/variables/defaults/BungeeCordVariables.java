@@ -1,8 +1,10 @@
 package com.github.games647.scoreboardstats.variables.defaults;
 
 import com.github.games647.scoreboardstats.BackwardsCompatibleUtil;
+import com.github.games647.scoreboardstats.ScoreboardStats;
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 import com.github.games647.scoreboardstats.variables.ReplaceManager;
+import com.github.games647.scoreboardstats.variables.VariablePublisher;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.io.ByteArrayDataInput;
@@ -10,29 +12,37 @@ import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.messaging.PluginMessageListener;
 
-public class BungeeCordVariables extends DefaultReplaceAdapter<Plugin> implements PluginMessageListener, Runnable {
+public class BungeeCordVariables extends DefaultReplaceAdapter<ScoreboardStats>
+        implements PluginMessageListener, Runnable {
+
+    public static final String[] VARIABLES = {"bungee-online", "bungee_*"};
 
     private static final int UPDATE_INTERVAL = 20 * 30;
     private static final String BUNGEE_CHANNEL = "BungeeCord";
 
     private final ReplaceManager replaceManager;
-    private Map<String, Integer> playersCount = Maps.newHashMap();
+    //written by the plugin messages and read by the player threads
+    private final Map<String, Integer> playersCount = Maps.newConcurrentMap();
+
+    //counts of the current poll that weren't sent yet - the messages can arrive on another thread than the task
+    private final Map<VariablePublisher, Integer> changedCounts = Maps.newConcurrentMap();
+    private final AtomicBoolean sendQueued = new AtomicBoolean();
 
     public BungeeCordVariables(ReplaceManager replaceManager) {
-        super(Bukkit.getPluginManager().getPlugin("ScoreboardStats"), "", true, false, true
-                , "bungee-online", "bungee_*");
+        super((ScoreboardStats) Bukkit.getPluginManager().getPlugin("ScoreboardStats"), "", true, false, true
+                , VARIABLES);
 
         this.replaceManager = replaceManager;
         Bukkit.getMessenger().registerOutgoingPluginChannel(getPlugin(), BUNGEE_CHANNEL);
         Bukkit.getMessenger().registerIncomingPluginChannel(getPlugin(), BUNGEE_CHANNEL, this);
 
-        Bukkit.getScheduler().runTaskTimer(getPlugin(), this, UPDATE_INTERVAL, UPDATE_INTERVAL);
+        getPlugin().getScheduler().runTimer(this, UPDATE_INTERVAL, UPDATE_INTERVAL);
         playersCount.put("ALL", -1);
     }
 
@@ -64,10 +74,11 @@ public class BungeeCordVariables extends DefaultReplaceAdapter<Plugin> implement
                 //update variable for cache
                 playersCount.put(server, count);
 
-                if ("ALL".equals(server)) {
-                    replaceManager.updateScore("bungee-online", count);
-                } else {
-                    replaceManager.updateScore("bungee_" + server, count);
+                String variable = "ALL".equals(server) ? "bungee-online" : "bungee_" + server;
+                changedCounts.put(replaceManager.getPublisher(variable), count);
+                if (sendQueued.compareAndSet(false, true)) {
+                    //the answers of one poll arrive together, so they are sent in one batch
+                    getPlugin().getScheduler().runSync(this::sendCounts);
                 }
             } catch (Exception eofException) {
                 //happens if bungeecord doesn't know the server
@@ -76,17 +87,34 @@ public class BungeeCordVariables extends DefaultReplaceAdapter<Plugin> implement
         }
     }
 
+    private void sendCounts() {
+        sendQueued.set(false);
+
+        Map<VariablePublisher, Integer> counts = Maps.newHashMap();
+        for (VariablePublisher publisher : changedCounts.keySet()) {
+            Integer count = changedCounts.remove(publisher);
+            if (count != null) {
+                counts.put(publisher, count);
+            }
+        }
+
+        VariablePublisher.publishGlobal(counts);
+    }
+
     @Override
     public void run() {
         Player sender = Iterables.getFirst(BackwardsCompatibleUtil.getOnlinePlayers(), null);
         if (sender != null) {
-            for (String serverName : playersCount.keySet()) {
-                ByteArrayDataOutput out = ByteStreams.newDataOutput();
-                out.writeUTF("PlayerCount");
-                out.writeUTF(serverName);
+            //the player can only be accessed from the thread that owns him
+            getPlugin().getScheduler().runForPlayer(sender, () -> {
+                for (String serverName : playersCount.keySet()) {
+                    ByteArrayDataOutput out = ByteStreams.newDataOutput();
+                    out.writeUTF("PlayerCount");
+                    out.writeUTF(serverName);
 
-                sender.sendPluginMessage(getPlugin(), BUNGEE_CHANNEL, out.toByteArray());
-            }
+                    sender.sendPluginMessage(getPlugin(), BUNGEE_CHANNEL, out.toByteArray());
+                }
+            });
         }
     }
 }
@@ -13,11 +13,13 @@ import org.bukkit.util.NumberConversions;
 
 public class CraftconomyVariables extends DefaultReplaceAdapter<Plugin> {
 
+    public static final String[] VARIABLES = {"money_*"};
+
     private final AccountManager accountManager = Common.getInstance().getAccountManager();
     private final CurrencyManager currencyManager = Common.getInstance().getCurrencyManager();
 
     public CraftconomyVariables() {
-        super(Bukkit.getPluginManager().getPlugin("Craftconomy3"), "money_*");
+        super(Bukkit.getPluginManager().getPlugin("Craftconomy3"), VARIABLES);
     }
 
     @Override
@@ -0,0 +1,305 @@
+package com.github.games647.scoreboardstats.variables.defaults;
+
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Lang;
+import com.github.games647.scoreboardstats.variables.CompiledExpression;
+import com.github.games647.scoreboardstats.variables.ReplaceEvent;
+import com.github.games647.scoreboardstats.variables.ReplaceManager;
+import com.github.games647.scoreboardstats.variables.VariableReplacer;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Replaces the variables that are calculated from other variables in the config, for example
+ * <code>kdr_precise: 'kills * 100 / max(deaths, 1)'</code>.
+ *
+ * The result is only calculated again if one of the inputs changed. Inputs that are updated by events are pushed
+ * to the derived variables, so they are updated at the same time. After the first calculation only the inputs that
+ * are neither pushed nor constant are replaced on a refresh - the others are taken from the saved inputs.
+ */
+public class DerivedVariables extends DefaultReplaceAdapter<ScoreboardStats> {
+
+    private final ReplaceManager replaceManager;
+
+    private final Map<String, DerivedVariable> variables = Maps.newHashMap();
+    private final Map<String, List<DerivedVariable>> dependents = Maps.newHashMap();
+
+    /**
+     * Creates a new replacer for all valid expressions. Expressions which depend on themselves are skipped.
+     *
+     * @param replaceManager to replace the inputs
+     * @param plugin ScoreboardStats plugin
+     * @param expressions the expressions by the name of the variable
+     */
+    public DerivedVariables(ReplaceManager replaceManager, ScoreboardStats plugin
+            , Map<String, CompiledExpression> expressions) {
+        super(plugin, "Variables that are calculated from other variables", false, false, false
+                , getAcyclic(plugin, expressions).toArray(new String[0]));
+
+        this.replaceManager = replaceManager;
+
+        for (String name : getVariables()) {
+            CompiledExpression expression = expressions.get(name);
+            DerivedVariable derived = new DerivedVariable(name, expression);
+            variables.put(name, derived);
+            for (String input : expression.getInputs()) {
+                dependents.computeIfAbsent(input, key -> Lists.newArrayList()).add(derived);
+            }
+        }
+    }
+
+    private static Set<String> getAcyclic(ScoreboardStats plugin, Map<String, CompiledExpression> expressions) {
+        Set<String> acyclic = Sets.newLinkedHashSet();
+        for (String name : expressions.keySet()) {
+            if (dependsOn(expressions, name, name, Sets.newHashSet())) {
+                plugin.getLogger().warning(Lang.get("cyclicExpression", name));
+            } else {
+                acyclic.add(name);
+            }
+        }
+
+        return acyclic;
+    }
+
+    private static boolean dependsOn(Map<String, CompiledExpression> expressions, String variable, String target
+            , Set<String> visited) {
+        CompiledExpression expression = expressions.get(variable);
+        if (expression == null || !visited.add(variable)) {
+            return false;
+        }
+
+        for (String input : expression.getInputs()) {
+            if (input.equals(target) || dependsOn(expressions, input, target, visited)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public VariableReplacer bind(String variable) {
+        DerivedVariable derived = variables.get(variable);
+        if (derived == null) {
+            return this;
+        }
+
+        return (player, var, replaceEvent) -> replace(derived, player, replaceEvent);
+    }
+
+    @Override
+    public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
+        DerivedVariable derived = variables.get(variable);
+        if (derived != null) {
+            replace(derived, player, replaceEvent);
+        }
+    }
+
+    /**
+     * Checks if a derived variable depends on this variable
+     *
+     * @param variable the variable
+     * @return true if the variable is the input of a derived variable
+     */
+    public boolean isInput(String variable) {
+        return dependents.containsKey(variable);
+    }
+
+    /**
+     * Calculates the derived variables of this player again that depend on the updated variable. This have to be
+     * called from the thread that owns the player.
+     *
+     * @param player the player who received the update
+     * @param variable the updated variable
+     * @param newScore the new score of the variable
+     * @param results collects the changed derived variables
+     */
+    public void onInputChanged(Player player, String variable, int newScore, Map<String, Integer> results) {
+        List<DerivedVariable> derivedVariables = dependents.get(variable);
+        if (derivedVariables == null) {
+            return;
+        }
+
+        int slot = getPlugin().getPlayerRegistry().getSlot(player);
+        for (DerivedVariable derived : derivedVariables) {
+            if (derived.setInput(slot, variable, newScore)) {
+                int result = derived.getResult(slot);
+                results.put(derived.name, result);
+                //derived variables can be the input of other ones
+                onInputChanged(player, derived.name, result, results);
+            }
+        }
+    }
+
+    /**
+     * Forgets the inputs of this player
+     *
+     * @param player the player
+     */
+    public void remove(Player player) {
+        int slot = getPlugin().getPlayerRegistry().getSlot(player);
+        for (DerivedVariable derived : variables.values()) {
+            derived.remove(slot);
+        }
+    }
+
+    private void replace(DerivedVariable derived, Player player, ReplaceEvent replaceEvent) {
+        int slot = getPlugin().getPlayerRegistry().getSlot(player);
+        CompiledExpression expression = derived.expression;
+
+        //the pushed inputs are kept up to date by onInputChanged
+        boolean known = derived.isKnown(slot);
+
+        long[] values = derived.buffer.get();
+        for (int i = 0; i < expression.getInputCount(); i++) {
+            String input = expression.getInput(i);
+            ReplaceEvent inputEvent = null;
+            if (!known || !replaceManager.isSkipped(input)) {
+                inputEvent = replaceManager.replaceInput(player, input);
+            }
+
+            if (inputEvent != null && inputEvent.isModified()) {
+                values[i] = inputEvent.getScore();
+            } else {
+                //pushed or not available at the moment - keep the last value
+                values[i] = derived.getInput(slot, i);
+            }
+        }
+
+        replaceEvent.setScore(derived.compute(slot, values));
+    }
+
+    private static class DerivedVariable {
+
+        private final String name;
+        private final CompiledExpression expression;
+
+        //one buffer per variable, because the inputs can be derived variables too
+        private final ThreadLocal<long[]> buffer;
+
+        //the inputs of a player are only accessed by the thread that owns the player, but the array is shared
+        //and only changed while holding the lock of this variable
+        private volatile State[] states = new State[16];
+
+        DerivedVariable(String name, CompiledExpression expression) {
+            this.name = name;
+            this.expression = expression;
+            this.buffer = ThreadLocal.withInitial(() -> new long[expression.getInputCount()]);
+        }
+
+        int compute(int slot, long[] values) {
+            State state = getOrCreate(slot);
+            if (state == null) {
+                return expression.evaluate(values);
+            }
+
+            int count = expression.getInputCount();
+            if (!state.known || !equals(state.inputs, values, count)) {
+                System.arraycopy(values, 0, state.inputs, 0, count);
+                state.result = expression.evaluate(state.inputs);
+                state.known = true;
+            }
+
+            return state.result;
+        }
+
+        boolean setInput(int slot, String variable, long value) {
+            State state = getOrCreate(slot);
+            if (state == null || !state.known) {
+                //the next refresh calculates it with all inputs
+                return false;
+            }
+
+            int index = expression.getInputs().indexOf(variable);
+            if (state.inputs[index] == value) {
+                return false;
+            }
+
+            state.inputs[index] = value;
+            int oldResult = state.result;
+            state.result = expression.evaluate(state.inputs);
+            return oldResult != state.result;
+        }
+
+        long getInput(int slot, int index) {
+            State[] current = states;
+            if (slot < 0 || slot >= current.length || current[slot] == null) {
+                return 0;
+            }
+
+            return current[slot].inputs[index];
+        }
+
+        boolean isKnown(int slot) {
+            State[] current = states;
+            return slot >= 0 && slot < current.length && current[slot] != null && current[slot].known;
+        }
+
+        int getResult(int slot) {
+            return states[slot].result;
+        }
+
+        void remove(int slot) {
+            State[] current = states;
+            if (slot >= 0 && slot < current.length && current[slot] != null) {
+                current[slot].known = false;
+                Arrays.fill(current[slot].inputs, 0);
+            }
+        }
+
+        private boolean equals(long[] first, long[] second, int length) {
+            for (int i = 0; i < length; i++) {
+                if (first[i] != second[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private State getOrCreate(int slot) {
+            if (slot < 0) {
+                return null;
+            }
+
+            State[] current = states;
+            if (slot < current.length && current[slot] != null) {
+                return current[slot];
+            }
+
+            //the state would be lost if another thread grows the array at the same time
+            synchronized (this) {
+                if (slot >= states.length) {
+                    states = Arrays.copyOf(states, Math.max(slot + 1, states.length * 2));
+                }
+
+                State state = states[slot];
+                if (state == null) {
+                    state = new State(expression.getInputCount());
+                    states[slot] = state;
+                }
+
+                return state;
+            }
+        }
+    }
+
+    private static class State {
+
+        private final long[] inputs;
+        private int result;
+        private boolean known;
+
+        State(int inputs) {
+            this.inputs = new long[inputs];
+        }
+    }
+}
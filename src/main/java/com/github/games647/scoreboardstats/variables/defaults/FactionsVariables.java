@@ -7,6 +7,8 @@ import com.massivecraft.factions.FPlayer;
 import com.massivecraft.factions.FPlayers;
 import com.massivecraft.factions.entity.MPlayer;
 
+import java.util.concurrent.TimeUnit;
+
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
@@ -18,14 +20,17 @@ import org.bukkit.plugin.Plugin;
 */
 public class FactionsVariables extends DefaultReplaceAdapter<Plugin> {
 
+    public static final String[] VARIABLES = {"power", "f_power", "members_online", "members"};
+
+    private static final long FACTION_TTL = TimeUnit.SECONDS.toMillis(5);
+
     private final boolean newVersion;
 
     /**
      * Creates a new faction replacer
      */
     public FactionsVariables() {
-        super(Bukkit.getPluginManager().getPlugin("Factions")
-                , "power", "f_power", "members_online", "members");
+        super(Bukkit.getPluginManager().getPlugin("Factions"), VARIABLES);
 
         String version = getPlugin().getDescription().getVersion();
         newVersion = Version.compare("2", version) >= 0;
@@ -48,6 +53,29 @@ public class FactionsVariables extends DefaultReplaceAdapter<Plugin> {
         }
     }
 
+    @Override
+    public long getScopeTtl(String variable) {
+        //the values of the faction are the same for all members
+        return "power".equals(variable) ? 0 : FACTION_TTL;
+    }
+
+    @Override
+    public Object getScope(Player player, String variable) {
+        if (newVersion) {
+            MPlayer mplayer = MPlayer.get(player);
+            if (mplayer != null && mplayer.getFaction() != null) {
+                return mplayer.getFaction().getId();
+            }
+        } else {
+            FPlayer fPlayer = FPlayers.getInstance().getByPlayer(player);
+            if (fPlayer != null && fPlayer.getFaction() != null) {
+                return fPlayer.getFaction().getId();
+            }
+        }
+
+        return null;
+    }
+
     //faction 2.7+
     private void getNewFactionScore(Player player, String variable, ReplaceEvent replaceEvent) {
         //If factions doesn't track the player yet return -1
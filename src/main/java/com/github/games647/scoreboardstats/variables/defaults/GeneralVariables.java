@@ -1,6 +1,7 @@
 package com.github.games647.scoreboardstats.variables.defaults;
 
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
+import com.github.games647.scoreboardstats.variables.VariableReplacer;
 
 import java.util.Calendar;
 
@@ -12,34 +13,49 @@ import org.bukkit.plugin.Plugin;
  */
 public class GeneralVariables extends DefaultReplaceAdapter<Plugin> {
 
+    public static final String[] VARIABLES = {"free_ram", "max_ram", "used_ram", "usedram", "date"};
+
     //From bytes to mega bytes
     private static final int MB_CONVERSION = 1_024 * 1_024;
 
     public GeneralVariables() {
-        super(null, "", true, true, false, "free_ram", "max_ram", "used_ram", "usedram", "date");
+        super(null, "", true, true, false, VARIABLES);
     }
 
     @Override
     public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
-        if ("free_ram".equals(variable)) {
-            //casting should be made after division
-            replaceEvent.setScore((int) (Runtime.getRuntime().freeMemory() / MB_CONVERSION));
-        } else if ("max_ram".equals(variable)) {
-            //casting should be made after division
-            replaceEvent.setScore((int) (Runtime.getRuntime().maxMemory() / MB_CONVERSION));
-        } else if ("used_ram".equals(variable)) {
-            long usedRam = Runtime.getRuntime().maxMemory() - Runtime.getRuntime().freeMemory();
-            //casting should be made after division
-            replaceEvent.setScore((int) (usedRam / MB_CONVERSION));
-            //convert to megabytes
-        } else if ("usedram".equals(variable)) {
-            //casting should be made after division
-            Runtime runtime = Runtime.getRuntime();
-            //percent calculation
-            replaceEvent.setScore((int) ((runtime.maxMemory() - runtime.freeMemory()) * 100 / runtime.maxMemory()));
-        } else if ("date".equals(variable)) {
-            //Get the current date
-            replaceEvent.setScore(Calendar.getInstance().get(Calendar.DAY_OF_MONTH));
+        VariableReplacer accessor = bind(variable);
+        if (accessor != this) {
+            accessor.onReplace(player, variable, replaceEvent);
         }
     }
+
+    @Override
+    public VariableReplacer bind(String variable) {
+        //casting should be made after division
+        switch (variable) {
+            case "free_ram":
+                return (player, var, event) -> event.setScore((int) (Runtime.getRuntime().freeMemory()
+                        / MB_CONVERSION));
+            case "max_ram":
+                return (player, var, event) -> event.setScore((int) (Runtime.getRuntime().maxMemory() / MB_CONVERSION));
+            case "used_ram":
+                //convert to megabytes
+                return (player, var, event) -> event.setScore((int) (getUsedRam() / MB_CONVERSION));
+            case "usedram":
+                //percent calculation
+                return (player, var, event) -> event.setScore((int) (getUsedRam() * 100
+                        / Runtime.getRuntime().maxMemory()));
+            case "date":
+                //Get the current date
+                return (player, var, event) -> event.setScore(Calendar.getInstance().get(Calendar.DAY_OF_MONTH));
+            default:
+                return super.bind(variable);
+        }
+    }
+
+    private static long getUsedRam() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - runtime.freeMemory();
+    }
 }
@@ -10,9 +10,11 @@ import org.bukkit.entity.Player;
 
 public class GriefPreventionVariables extends DefaultReplaceAdapter<GriefPrevention> {
 
+    public static final String[] VARIABLES = {"accrued_claim_block", "bonus_claim_blocks", "group_bonus_blocks"
+            , "remaining_blocks", "total_blocks"};
+
     public GriefPreventionVariables() {
-        super((GriefPrevention) Bukkit.getPluginManager().getPlugin("GriefPrevention")
-                , "accrued_claim_block", "bonus_claim_blocks", "group_bonus_blocks", "remaining_blocks", "total_blocks");
+        super((GriefPrevention) Bukkit.getPluginManager().getPlugin("GriefPrevention"), VARIABLES);
     }
 
     @Override
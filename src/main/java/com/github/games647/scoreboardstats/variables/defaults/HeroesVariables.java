@@ -23,6 +23,8 @@ import org.bukkit.event.Listener;
  */
 public class HeroesVariables extends DefaultReplaceAdapter<Heroes> implements Listener {
 
+    public static final String[] VARIABLES = {"mana", "level", "max_mana"};
+
     private final ReplaceManager replaceManager;
     private final CharacterManager characterManager;
 
@@ -32,7 +34,7 @@ public class HeroesVariables extends DefaultReplaceAdapter<Heroes> implements Li
      * @param replaceManager the replace manager from ScoreboardStats
      */
     public HeroesVariables(ReplaceManager replaceManager) {
-        super((Heroes) Bukkit.getPluginManager().getPlugin("Heroes"), "mana", "level", "max_mana");
+        super((Heroes) Bukkit.getPluginManager().getPlugin("Heroes"), VARIABLES);
 
         this.replaceManager = replaceManager;
         characterManager = getPlugin().getCharacterManager();
@@ -12,11 +12,12 @@ import org.bukkit.event.Listener;
 
 public class McCombatLevelVariables extends DefaultReplaceAdapter<McCombatLevel> implements Listener {
 
+    public static final String[] VARIABLES = {"mc_combat_level"};
+
     private final ReplaceManager replaceManager;
 
     public McCombatLevelVariables(ReplaceManager replaceManager) {
-        super((McCombatLevel) Bukkit.getPluginManager().getPlugin("McCombatLevel")
-                , "mc_combat_level", "bonus_claim_blocks", "group_bonus_blocks");
+        super((McCombatLevel) Bukkit.getPluginManager().getPlugin("McCombatLevel"), VARIABLES);
 
         this.replaceManager = replaceManager;
     }
@@ -25,12 +25,14 @@ import org.bukkit.plugin.RegisteredServiceProvider;
  */
 public class McPrisonVariables extends DefaultReplaceAdapter<Plugin> {
 
+    public static final String[] VARIABLES = {"moneyNeeded"};
+
     private final ReplaceManager replaceManager;
 
     private final Economy eco;
 
     public McPrisonVariables(ReplaceManager replaceManager) {
-        super(Bukkit.getPluginManager().getPlugin("Prison"), "moneyNeeded");
+        super(Bukkit.getPluginManager().getPlugin("Prison"), VARIABLES);
 
         this.replaceManager = replaceManager;
 
@@ -2,13 +2,17 @@ package com.github.games647.scoreboardstats.variables.defaults;
 
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 import com.github.games647.scoreboardstats.variables.ReplaceManager;
+import com.github.games647.scoreboardstats.variables.VariablePublisher;
 import com.gmail.nossr50.api.ExperienceAPI;
 import com.gmail.nossr50.datatypes.skills.SkillType;
 import com.gmail.nossr50.events.experience.McMMOPlayerLevelDownEvent;
 import com.gmail.nossr50.events.experience.McMMOPlayerLevelUpEvent;
 import com.gmail.nossr50.util.player.UserManager;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -26,6 +30,8 @@ import org.bukkit.plugin.Plugin;
  */
 public class McmmoVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
 
+    public static final String[] VARIABLES = getSkillVariables();
+
     private static String[] getSkillVariables() {
         Set<String> skills = Stream.of(SkillType.values()).map(SkillType::name)
                 .map(String::toLowerCase).collect(Collectors.toSet());
@@ -35,6 +41,8 @@ public class McmmoVariables extends DefaultReplaceAdapter<Plugin> implements Lis
     }
 
     private final ReplaceManager replaceManager;
+    private final Map<SkillType, VariablePublisher> skillPublishers = Maps.newEnumMap(SkillType.class);
+    private final VariablePublisher powerLevelPublisher;
 
     /**
      * Creates a new mcMMO replacer. This also validates if all variables are available
@@ -43,9 +51,15 @@ public class McmmoVariables extends DefaultReplaceAdapter<Plugin> implements Lis
      * @param replaceManager to update the variables by event
      */
     public McmmoVariables(ReplaceManager replaceManager) {
-        super(Bukkit.getPluginManager().getPlugin("mcMMO"), getSkillVariables());
+        super(Bukkit.getPluginManager().getPlugin("mcMMO"), VARIABLES);
 
         this.replaceManager = replaceManager;
+
+        for (SkillType skill : SkillType.values()) {
+            skillPublishers.put(skill, replaceManager.getPublisher(skill.name().toLowerCase(Locale.ENGLISH)));
+        }
+
+        powerLevelPublisher = replaceManager.getPublisher("powlvl");
     }
 
     @Override
@@ -83,7 +97,13 @@ public class McmmoVariables extends DefaultReplaceAdapter<Plugin> implements Lis
     }
 
     private void onLevelChange(Player player, SkillType skill, int newSkillLevel) {
-        replaceManager.updateScore(player, skill.getName(), newSkillLevel);
-        replaceManager.updateScore(player, "powlvl", ExperienceAPI.getPowerLevel(player));
+        VariablePublisher skillPublisher = skillPublishers.get(skill);
+        if (powerLevelPublisher.isDisplayed()) {
+            //the power level changes with every skill level
+            replaceManager.updateScores(player, ImmutableMap.of(skillPublisher.getVariable(), newSkillLevel
+                    , powerLevelPublisher.getVariable(), ExperienceAPI.getPowerLevel(player)));
+        } else {
+            skillPublisher.publish(player, newSkillLevel);
+        }
     }
 }
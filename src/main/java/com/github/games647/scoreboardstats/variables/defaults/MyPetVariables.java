@@ -15,10 +15,12 @@ import org.bukkit.plugin.Plugin;
 
 public class MyPetVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
 
+    public static final String[] VARIABLES = {"pet_level"};
+
     private final ReplaceManager replaceManager;
 
     public MyPetVariables(ReplaceManager replaceManager) {
-        super(Bukkit.getPluginManager().getPlugin("MyPet"), "pet_level");
+        super(Bukkit.getPluginManager().getPlugin("MyPet"), VARIABLES);
 
         this.replaceManager = replaceManager;
     }
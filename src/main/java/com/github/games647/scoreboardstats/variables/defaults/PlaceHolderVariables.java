@@ -1,25 +1,36 @@
 package com.github.games647.scoreboardstats.variables.defaults;
 
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.variables.NumberParser;
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 import com.google.common.collect.Sets;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.clip.placeholderapi.PlaceholderHook;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import me.clip.placeholderapi.external.EZPlaceholderHook;
 
-import org.apache.commons.lang.math.NumberUtils;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 
-public class PlaceHolderVariables extends DefaultReplaceAdapter<Plugin> {
-    
-    private static String[] getVariablesPrefixes() {
+public class PlaceHolderVariables extends DefaultReplaceAdapter<Plugin> implements Listener {
+
+    /**
+     * Get the wildcard variables of all registered placeholder hooks. Hooks can be added at any time, so this
+     * isn't a constant.
+     *
+     * @return the wildcard variables
+     */
+    public static String[] getVariablesPrefixes() {
         Set<String> variables = Sets.newHashSet();
 
         Collection<PlaceholderHook> hooks = PlaceholderAPI.getPlaceholders().values();
@@ -39,18 +50,28 @@ public class PlaceHolderVariables extends DefaultReplaceAdapter<Plugin> {
         return variables.toArray(new String[0]);
     }
 
+    //placeholders that aren't requested in two refreshes of idle players aren't used anymore
+    private final PlaceholderBridge bridge = new PlaceholderBridge(Settings.getPlaceholderCache()
+            , TimeUnit.SECONDS.toMillis(2L * Math.max(Settings.getInterval(), Settings.getIdleInterval())));
+
     public PlaceHolderVariables() {
         super(Bukkit.getPluginManager().getPlugin("PlaceholderAPI"), getVariablesPrefixes());
     }
 
     @Override
     public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
-        String replaced = PlaceholderAPI.setPlaceholders(player, '%' + variable + '%');
-        //remove colors if inserted by the replace plugin
-        String strip = ChatColor.stripColor(replaced);
-        
-        //try parse with a decimal in the case it's decimal if not it parsing will work too
-        double score = NumberUtils.toDouble(strip);
-        replaceEvent.setScoreOrText((int) score);
+        String replaced = bridge.resolve(player, variable);
+        if (replaceEvent.isTextVariable()) {
+            //keep the colors of the replace plugin inside texts
+            replaceEvent.setScoreOrText(replaced);
+        } else {
+            //colors, separators and decimals are skipped by the parser
+            replaceEvent.setScore(NumberParser.parseInt(replaced, 0));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent quitEvent) {
+        bridge.remove(quitEvent.getPlayer().getUniqueId());
     }
 }
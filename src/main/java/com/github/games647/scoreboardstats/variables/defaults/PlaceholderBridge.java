@@ -0,0 +1,196 @@
+package com.github.games647.scoreboardstats.variables.defaults;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Resolves all known placeholders of a player in a single PlaceholderAPI call and keeps the values for a short time.
+ * The placeholders are collected on their first request, so after the first refresh every placeholder of the
+ * scoreboard is resolved together. Placeholders that weren't requested for a while are forgotten again, for example
+ * after another plugin requested them once.
+ */
+class PlaceholderBridge {
+
+    //isn't expected inside a value - otherwise the placeholders are resolved one by one
+    private static final char SEPARATOR = '\0';
+
+    private final long ttl;
+    private final long unusedTtl;
+
+    private volatile Placeholders placeholders = new Placeholders(new String[0], new long[0], 0);
+    private final Map<UUID, Values> cache = Maps.newConcurrentMap();
+
+    /**
+     * @param ttl the milliseconds the values of a player are reused - 0 disables the cache
+     * @param unusedTtl the milliseconds after a placeholder is forgotten if it wasn't requested
+     */
+    PlaceholderBridge(long ttl, long unusedTtl) {
+        this.ttl = ttl;
+        //a shorter time would forget the placeholders between two refreshes
+        this.unusedTtl = Math.max(ttl, unusedTtl);
+    }
+
+    /**
+     * Get the value of the placeholder for this player. This have to be called from the thread that owns the player.
+     *
+     * @param player the player
+     * @param placeholder the placeholder <b>without the variable identifiers (%)</b>
+     * @return the replaced text
+     */
+    public String resolve(Player player, String placeholder) {
+        if (ttl <= 0) {
+            return PlaceholderAPI.setPlaceholders(player, '%' + placeholder + '%');
+        }
+
+        long now = System.currentTimeMillis();
+        Placeholders current = placeholders;
+        Integer index = current.indexes.get(placeholder);
+        if (index == null) {
+            current = add(placeholder, now);
+            index = current.indexes.get(placeholder);
+        }
+
+        current.requested[index] = now;
+
+        Values values = cache.get(player.getUniqueId());
+        if (values == null || values.placeholders != current || now >= values.expire) {
+            if (now >= current.nextCleanUp) {
+                //only checked if the values are resolved anyway
+                current = removeUnused(now);
+                index = current.indexes.get(placeholder);
+            }
+
+            values = new Values(current, resolveAll(player, current), now + ttl);
+            cache.put(player.getUniqueId(), values);
+        }
+
+        return values.values[index];
+    }
+
+    /**
+     * Removes the cached values of a player
+     *
+     * @param uuid the uuid of the player
+     */
+    public void remove(UUID uuid) {
+        cache.remove(uuid);
+    }
+
+    private synchronized Placeholders add(String placeholder, long now) {
+        Placeholders current = placeholders;
+        if (current.indexes.containsKey(placeholder)) {
+            return current;
+        }
+
+        int length = current.names.length;
+        String[] names = Arrays.copyOf(current.names, length + 1);
+        names[length] = placeholder;
+
+        long[] requested = Arrays.copyOf(current.requested, length + 1);
+        requested[length] = now;
+
+        placeholders = new Placeholders(names, requested, current.nextCleanUp);
+        return placeholders;
+    }
+
+    private synchronized Placeholders removeUnused(long now) {
+        Placeholders current = placeholders;
+        if (now < current.nextCleanUp) {
+            return current;
+        }
+
+        List<String> names = Lists.newArrayListWithCapacity(current.names.length);
+        List<Long> requested = Lists.newArrayListWithCapacity(current.names.length);
+        for (int i = 0; i < current.names.length; i++) {
+            if (now - current.requested[i] < unusedTtl) {
+                names.add(current.names[i]);
+                requested.add(current.requested[i]);
+            }
+        }
+
+        placeholders = new Placeholders(names.toArray(new String[0]), Longs.toArray(requested), now + unusedTtl);
+        return placeholders;
+    }
+
+    private String[] resolveAll(Player player, Placeholders current) {
+        String[] names = current.names;
+        String[] values = new String[names.length];
+
+        String replaced = PlaceholderAPI.setPlaceholders(player, current.template);
+        int start = 0;
+        int found = 0;
+        for (int index = 0; index <= replaced.length() && found < values.length; index++) {
+            if (index == replaced.length() || replaced.charAt(index) == SEPARATOR) {
+                values[found] = replaced.substring(start, index);
+                found++;
+                start = index + 1;
+            }
+        }
+
+        if (found != values.length || start <= replaced.length()) {
+            //a value contained the separator - resolve them one by one
+            for (int i = 0; i < names.length; i++) {
+                values[i] = PlaceholderAPI.setPlaceholders(player, '%' + names[i] + '%');
+            }
+        }
+
+        return values;
+    }
+
+    private static class Placeholders {
+
+        private final Map<String, Integer> indexes;
+        private final String[] names;
+
+        //the time of the last request per placeholder - a lost update only delays the removal
+        private final long[] requested;
+        private final long nextCleanUp;
+
+        //all placeholders in one text
+        private final String template;
+
+        public Placeholders(String[] names, long[] requested, long nextCleanUp) {
+            this.names = names;
+            this.requested = requested;
+            this.nextCleanUp = nextCleanUp;
+
+            ImmutableMap.Builder<String, Integer> indexes = ImmutableMap.builder();
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+                if (builder.length() > 0) {
+                    builder.append(SEPARATOR);
+                }
+
+                builder.append('%').append(names[i]).append('%');
+            }
+
+            this.indexes = indexes.build();
+            this.template = builder.toString();
+        }
+    }
+
+    private static class Values {
+
+        private final Placeholders placeholders;
+        private final String[] values;
+        private final long expire;
+
+        public Values(Placeholders placeholders, String[] values, long expire) {
+            this.placeholders = placeholders;
+            this.values = values;
+            this.expire = expire;
+        }
+    }
+}
@@ -18,11 +18,13 @@ import org.bukkit.plugin.Plugin;
  */
 public class PlayerPingVariable extends DefaultReplaceAdapter<Plugin> {
 
+    public static final String[] VARIABLES = {"ping"};
+
     private Method getHandleMethod;
     private Field pingField;
 
     public PlayerPingVariable() {
-        super(Bukkit.getPluginManager().getPlugin("ScoreboardStats"), "ping");
+        super(Bukkit.getPluginManager().getPlugin("ScoreboardStats"), VARIABLES);
     }
 
     @Override
@@ -18,10 +18,12 @@ import org.bukkit.event.Listener;
  */
 public class PlayerPointsVariables extends DefaultReplaceAdapter<PlayerPoints> implements Listener {
 
+    public static final String[] VARIABLES = {"points"};
+
     private final ReplaceManager replaceManager;
 
     public PlayerPointsVariables(ReplaceManager replaceManager) {
-        super((PlayerPoints) Bukkit.getPluginManager().getPlugin("PlayerPoints"), "points");
+        super((PlayerPoints) Bukkit.getPluginManager().getPlugin("PlayerPoints"), VARIABLES);
 
         this.replaceManager = replaceManager;
     }
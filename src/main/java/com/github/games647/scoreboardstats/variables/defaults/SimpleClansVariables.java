@@ -2,6 +2,8 @@ package com.github.games647.scoreboardstats.variables.defaults;
 
 import com.github.games647.scoreboardstats.variables.ReplaceEvent;
 
+import java.util.concurrent.TimeUnit;
+
 import net.sacredlabyrinth.phaed.simpleclans.Clan;
 import net.sacredlabyrinth.phaed.simpleclans.ClanPlayer;
 import net.sacredlabyrinth.phaed.simpleclans.SimpleClans;
@@ -23,22 +25,45 @@ import org.bukkit.util.NumberConversions;
  */
 public class SimpleClansVariables extends DefaultReplaceAdapter<SimpleClans> {
 
+    public static final String[] VARIABLES = {"kills", "deaths", "kdr", "members", "clan_kdr", "rivals", "allies"
+            , "clan_money", "clan_kills", "allies_total", "members_online"};
+
+    private static final long CLAN_TTL = TimeUnit.SECONDS.toMillis(5);
+
     private final ClanManager clanManager;
 
     /**
      * Creates a new SimpleClans replacer
      */
     public SimpleClansVariables() {
-        super((SimpleClans) Bukkit.getPluginManager().getPlugin("SimpleClans")
-                , "kills", "deaths", "kdr"
-                , "members", "clan_kdr", "rivals", "allies"
-                , "clan_money", "clan_kills", "allies_total", "members_online");
+        super((SimpleClans) Bukkit.getPluginManager().getPlugin("SimpleClans"), VARIABLES);
 
         checkVersionException("2.5");
 
         clanManager = getPlugin().getClanManager();
     }
 
+    @Override
+    public long getScopeTtl(String variable) {
+        if ("kills".equals(variable) || "deaths".equals(variable) || "kdr".equals(variable)) {
+            //stats of the player
+            return 0;
+        }
+
+        //the values of the clan are the same for all members
+        return CLAN_TTL;
+    }
+
+    @Override
+    public Object getScope(Player player, String variable) {
+        ClanPlayer clanPlayer = clanManager.getClanPlayer(player);
+        if (clanPlayer == null || clanPlayer.getClan() == null) {
+            return null;
+        }
+
+        return clanPlayer.getClan().getTag();
+    }
+
     @Override
     public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
         //If simpleclans doesn't track the player yet return -1
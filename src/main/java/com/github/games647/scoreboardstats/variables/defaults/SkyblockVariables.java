@@ -20,6 +20,8 @@ import us.talabrek.ultimateskyblock.api.uSkyBlockAPI;
  */
 public class SkyblockVariables extends DefaultReplaceAdapter<uSkyBlockAPI> implements Listener {
 
+    public static final String[] VARIABLES = {"island_level"};
+
     private static uSkyBlockAPI getCheckVersion(Plugin plugin) throws UnsupportedPluginException {
         if (plugin instanceof uSkyBlockAPI) {
             return (uSkyBlockAPI) plugin;
@@ -31,7 +33,7 @@ public class SkyblockVariables extends DefaultReplaceAdapter<uSkyBlockAPI> imple
     private final ReplaceManager replaceManager;
 
     public SkyblockVariables(ReplaceManager replaceManager) {
-        super(getCheckVersion(Bukkit.getPluginManager().getPlugin("uSkyBlock")), "island_level");
+        super(getCheckVersion(Bukkit.getPluginManager().getPlugin("uSkyBlock")), VARIABLES);
 
         this.replaceManager = replaceManager;
     }
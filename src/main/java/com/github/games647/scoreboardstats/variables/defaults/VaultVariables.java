@@ -21,6 +21,8 @@ import org.bukkit.util.NumberConversions;
  */
 public class VaultVariables extends DefaultReplaceAdapter<Plugin> {
 
+    public static final String[] VARIABLES = {"money", "playerInfo_*"};
+
     private final Economy economy;
     private final Chat chat;
 
@@ -28,7 +30,7 @@ public class VaultVariables extends DefaultReplaceAdapter<Plugin> {
      * Creates a new vault replacer
      */
     public VaultVariables() {
-        super(Bukkit.getPluginManager().getPlugin("Vault"), "money", "playerInfo_*");
+        super(Bukkit.getPluginManager().getPlugin("Vault"), VARIABLES);
 
         //Check if the server has Vault above 1.4.1 installed, because there they introduced UUID support
         checkVersionException("1.4.1");
@@ -0,0 +1,104 @@
+package com.github.games647.scoreboardstats;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the scheduling of the refresh queue
+ *
+ * @see TimingWheel
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void testDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(3);
+        Assert.assertTrue(wheel.add("a", 1));
+        Assert.assertTrue(wheel.add("b", 3));
+        Assert.assertFalse("Duplicate entry", wheel.add("a", 2));
+
+        wheel.advance();
+        Assert.assertEquals("a", wheel.poll());
+        Assert.assertNull(wheel.poll());
+
+        wheel.advance();
+        Assert.assertNull(wheel.poll());
+
+        wheel.advance();
+        Assert.assertEquals("b", wheel.poll());
+        Assert.assertEquals(2, wheel.size());
+    }
+
+    @Test
+    public void testRequeue() {
+        TimingWheel<String> wheel = new TimingWheel<>(2);
+        wheel.add("a", 1);
+
+        wheel.advance();
+        Assert.assertEquals("a", wheel.poll());
+        Assert.assertTrue("Polled elements are still part of the wheel", wheel.contains("a"));
+        Assert.assertTrue(wheel.requeue("a", 2));
+
+        wheel.advance();
+        Assert.assertNull(wheel.poll());
+
+        wheel.advance();
+        Assert.assertEquals("a", wheel.poll());
+
+        //removed while it was polled
+        Assert.assertTrue(wheel.remove("a"));
+        Assert.assertFalse(wheel.requeue("a", 1));
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCarryOver() {
+        TimingWheel<String> wheel = new TimingWheel<>(5);
+        wheel.add("a", 1);
+        wheel.add("b", 1);
+        wheel.add("c", 2);
+
+        wheel.advance();
+        Assert.assertEquals("a", wheel.poll());
+        wheel.requeue("a", 5);
+
+        //b wasn't polled in time so it has to be the first one now
+        wheel.advance();
+        Assert.assertEquals("b", wheel.poll());
+        Assert.assertEquals("c", wheel.poll());
+        Assert.assertNull(wheel.poll());
+    }
+
+    @Test
+    public void testRemove() {
+        TimingWheel<String> wheel = new TimingWheel<>(1);
+        wheel.add("a", 1);
+        wheel.add("b", 1);
+        wheel.add("c", 1);
+        Assert.assertTrue(wheel.remove("b"));
+        Assert.assertFalse(wheel.remove("b"));
+
+        wheel.advance();
+        Assert.assertEquals("a", wheel.poll());
+        Assert.assertEquals("c", wheel.poll());
+        Assert.assertNull(wheel.poll());
+    }
+
+    @Test
+    public void testPeek() {
+        TimingWheel<String> wheel = new TimingWheel<>(3);
+        wheel.add("a", 1);
+        wheel.add("b", 1);
+        wheel.add("c", 2);
+
+        wheel.advance();
+        String[] due = new String[3];
+        Assert.assertEquals(2, wheel.peek(due));
+        Assert.assertEquals("a", due[0]);
+        Assert.assertEquals("b", due[1]);
+
+        //limited by the array and doesn't remove them
+        Assert.assertEquals(1, wheel.peek(new String[1]));
+        Assert.assertEquals("a", wheel.poll());
+    }
+}
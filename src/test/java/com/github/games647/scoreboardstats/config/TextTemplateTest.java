@@ -0,0 +1,51 @@
+package com.github.games647.scoreboardstats.config;
+
+import com.github.games647.scoreboardstats.variables.RenderedText;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the compiling and rendering of texts with variables
+ *
+ * @see TextTemplate
+ */
+public class TextTemplateTest {
+
+    @Test
+    public void testCompile() {
+        TextTemplate template = TextTemplate.compile("Online: %Online%/%max%", 48);
+        Assert.assertEquals(2, template.getVariableCount());
+        Assert.assertEquals("online", template.getVariable(0));
+        Assert.assertEquals("max", template.getVariable(1));
+        Assert.assertEquals("Online: ", template.getLiteral(0));
+        Assert.assertEquals("/", template.getLiteral(1));
+        Assert.assertEquals("", template.getLiteral(2));
+        Assert.assertEquals("Online: /", template.getStaticText());
+    }
+
+    @Test
+    public void testNoVariable() {
+        Assert.assertFalse(TextTemplate.containsVariable("Sale 50%"));
+        Assert.assertFalse(TextTemplate.containsVariable("50% - 20% off"));
+        Assert.assertFalse(TextTemplate.containsVariable("%%"));
+        Assert.assertTrue(TextTemplate.containsVariable("100% %money%"));
+    }
+
+    @Test
+    public void testRender() {
+        TextTemplate template = TextTemplate.compile("Money: %money%", 10);
+        RenderedText rendered = new RenderedText(template);
+        StringBuilder builder = new StringBuilder();
+
+        rendered.set(0, null, 5);
+        String text = rendered.render(builder);
+        Assert.assertEquals("Money: 5", text);
+
+        rendered.set(0, null, 5);
+        Assert.assertSame("Unchanged values shouldn't create a new string", text, rendered.render(builder));
+
+        rendered.set(0, "12345", 0);
+        Assert.assertEquals("Cut to the max length", "Money: 123", rendered.render(builder));
+    }
+}
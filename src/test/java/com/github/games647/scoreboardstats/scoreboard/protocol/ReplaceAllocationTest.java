@@ -0,0 +1,166 @@
+package com.github.games647.scoreboardstats.scoreboard.protocol;
+
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.github.games647.scoreboardstats.PlayerRegistry;
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.SidebarConfig;
+import com.github.games647.scoreboardstats.config.VariableItem;
+import com.github.games647.scoreboardstats.scoreboard.ScoreCache;
+import com.github.games647.scoreboardstats.variables.ReplaceEvent;
+import com.github.games647.scoreboardstats.variables.VariableReplaceAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginBase;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.plugin.messaging.StandardMessenger;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+/**
+ * Tests that a refresh of unchanged variables through the scoreboard manager doesn't create any garbage
+ */
+//the name is final in the plugin base
+@PrepareForTest({Bukkit.class, SimplePluginManager.class, Plugin.class, PluginBase.class, ScoreboardStats.class
+        , ProtocolLibrary.class})
+@RunWith(PowerMockRunner.class)
+public class ReplaceAllocationTest {
+
+    private static final int LINES = 12;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int ROUNDS = 50_000;
+
+    //a single allocated event per replace would already be several megabytes
+    private static final long MAX_ALLOCATED_BYTES = 64 * 1_024;
+
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", (SidebarConfig) null);
+    }
+
+    @Test
+    public void testSteadyState() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        PowerMockito.mockStatic(Bukkit.class);
+        Mockito.when(Bukkit.getPluginManager()).thenReturn(PowerMockito.mock(SimplePluginManager.class));
+        Mockito.when(Bukkit.getMessenger()).thenReturn(PowerMockito.mock(StandardMessenger.class));
+        Mockito.when(Bukkit.getScheduler()).thenReturn(PowerMockito.mock(BukkitScheduler.class));
+
+        PowerMockito.mockStatic(ProtocolLibrary.class);
+        Mockito.when(ProtocolLibrary.getProtocolManager()).thenReturn(Mockito.mock(ProtocolManager.class));
+
+        SidebarConfig sidebarConfig = new SidebarConfig("Stats");
+        for (int i = 0; i < LINES; i++) {
+            sidebarConfig.addVariableItem(false, "line_" + i, "Line " + i, 0);
+        }
+
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", sidebarConfig);
+
+        //calls to mocks would allocate the recorded invocations
+        Player player = createPlayer();
+        PlayerRegistry playerRegistry = new PlayerRegistry();
+        int slot = playerRegistry.register(player);
+
+        ScoreboardStats plugin = PowerMockito.mock(ScoreboardStats.class);
+        PowerMockito.when(plugin.getLogger()).thenReturn(Logger.getGlobal());
+        PowerMockito.when(plugin.getName()).thenReturn("ScoreboardStats");
+        PowerMockito.when(plugin.getPlayerRegistry()).thenReturn(playerRegistry);
+
+        PacketSbManager sbManager = new PacketSbManager(plugin);
+        for (int i = 0; i < LINES; i++) {
+            int score = i;
+            sbManager.getReplaceManager().register(new VariableReplaceAdapter<Plugin>(plugin, "line_" + i) {
+
+                @Override
+                public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
+                    replaceEvent.setScore(score);
+                }
+            });
+        }
+
+        PlayerScoreboard scoreboard = new SidebarScoreboard(player);
+        Whitebox.setInternalState(sbManager, "scoreboards", new PlayerScoreboard[]{scoreboard});
+
+        //the client already received these scores, so no packets are sent
+        ScoreCache scoreCache = sbManager.getScoreCache();
+        for (VariableItem item : sidebarConfig.getVariableItems()) {
+            scoreCache.isChanged(slot, item.getIndex(), Integer.parseInt(item.getVariable().substring(5)));
+        }
+
+        refresh(sbManager, player, slot, WARMUP_ROUNDS);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        refresh(sbManager, player, slot, ROUNDS);
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < MAX_ALLOCATED_BYTES);
+        Assert.assertEquals(LINES * (long) (WARMUP_ROUNDS + ROUNDS), scoreCache.getHits());
+    }
+
+    private void refresh(PacketSbManager sbManager, Player player, int slot, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            sbManager.onUpdate(player, slot);
+        }
+    }
+
+    private Player createPlayer() {
+        UUID uuid = UUID.randomUUID();
+        return (Player) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Player.class}
+                , (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUniqueId":
+                            return uuid;
+                        case "isOnline":
+                            return true;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static class SidebarScoreboard extends PlayerScoreboard {
+
+        private final Objective sidebar = new Objective(this, "Stats", "Stats", false);
+
+        SidebarScoreboard(Player player) {
+            super(player);
+        }
+
+        @Override
+        public Objective getSidebarObjective() {
+            return sidebar;
+        }
+
+        @Override
+        public Objective getObjective(String objectiveName) {
+            return sidebar.getName().equals(objectiveName) ? sidebar : null;
+        }
+    }
+}
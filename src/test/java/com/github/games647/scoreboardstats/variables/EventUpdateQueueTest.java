@@ -0,0 +1,199 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.PlayerRegistry;
+import com.github.games647.scoreboardstats.SbManager;
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.SidebarConfig;
+import com.github.games647.scoreboardstats.scheduler.PluginScheduler;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.plugin.messaging.StandardMessenger;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+/**
+ * Tests that the events of a burst only cause a single replace and update per player and variable
+ */
+@PrepareForTest({Bukkit.class, SimplePluginManager.class, Plugin.class, ScoreboardStats.class})
+@RunWith(PowerMockRunner.class)
+public class EventUpdateQueueTest {
+
+    private static final int EVENTS = 1_000;
+    private static final String VARIABLE = "blocks";
+
+    private static final int WINDOW = 2;
+
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", (SidebarConfig) null);
+    }
+
+    @Test
+    public void testMerge() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        Mockito.when(Bukkit.getPluginManager()).thenReturn(PowerMockito.mock(SimplePluginManager.class));
+        Mockito.when(Bukkit.getMessenger()).thenReturn(PowerMockito.mock(StandardMessenger.class));
+        Mockito.when(Bukkit.getScheduler()).thenReturn(PowerMockito.mock(BukkitScheduler.class));
+
+        SidebarConfig sidebarConfig = new SidebarConfig("Stats");
+        sidebarConfig.addVariableItem(false, VARIABLE, "Blocks", 0);
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", sidebarConfig);
+
+        PluginScheduler scheduler = Mockito.mock(PluginScheduler.class);
+        Mockito.when(scheduler.isOwner(Matchers.any(Player.class))).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(scheduler).runForPlayer(Matchers.any(Player.class), Matchers.any(Runnable.class));
+
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        PlayerRegistry playerRegistry = new PlayerRegistry();
+        playerRegistry.register(player);
+
+        ScoreboardStats plugin = PowerMockito.mock(ScoreboardStats.class);
+        PowerMockito.when(plugin.getLogger()).thenReturn(Logger.getGlobal());
+        PowerMockito.when(plugin.getScheduler()).thenReturn(scheduler);
+        PowerMockito.when(plugin.getPlayerRegistry()).thenReturn(playerRegistry);
+
+        SbManager sbManager = Mockito.mock(SbManager.class);
+        ReplaceManager replaceManager = new ReplaceManager(sbManager, plugin);
+        PowerMockito.when(plugin.getReplaceManager()).thenReturn(replaceManager);
+
+        AtomicInteger replaces = new AtomicInteger();
+        VariableReplacer replacer = (eventPlayer, variable, replaceEvent) -> {
+            replaces.incrementAndGet();
+            replaceEvent.setScore(5);
+        };
+
+        EventVariableExecutor executor = new EventVariableExecutor(plugin, replacer, VARIABLE);
+
+        PlayerEvent event = new PlayerEvent(player) {
+
+            @Override
+            public HandlerList getHandlers() {
+                return null;
+            }
+        };
+
+        for (int i = 0; i < EVENTS; i++) {
+            executor.execute(null, event);
+        }
+
+        replaceManager.flushEvents();
+        Assert.assertEquals("The events should be merged", 1, replaces.get());
+        Mockito.verify(sbManager, Mockito.times(1)).update(Matchers.eq(player), Matchers.anyString(), Matchers.eq(5));
+
+        //nothing left for the next tick
+        replaceManager.flushEvents();
+        Assert.assertEquals(1, replaces.get());
+
+        //a player who left doesn't receive the queued update
+        executor.execute(null, event);
+        replaceManager.clearSchedule(player);
+        replaceManager.flushEvents();
+        Assert.assertEquals(1, replaces.get());
+    }
+
+    @Test
+    public void testBurst() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        Mockito.when(Bukkit.getPluginManager()).thenReturn(PowerMockito.mock(SimplePluginManager.class));
+        Mockito.when(Bukkit.getMessenger()).thenReturn(PowerMockito.mock(StandardMessenger.class));
+        Mockito.when(Bukkit.getScheduler()).thenReturn(PowerMockito.mock(BukkitScheduler.class));
+
+        SidebarConfig sidebarConfig = new SidebarConfig("Stats");
+        sidebarConfig.addVariableItem(false, VARIABLE, "Blocks", 0);
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", sidebarConfig);
+
+        PluginScheduler scheduler = Mockito.mock(PluginScheduler.class);
+        Mockito.when(scheduler.isOwner(Matchers.any(Player.class))).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(scheduler).runForPlayer(Matchers.any(Player.class), Matchers.any(Runnable.class));
+
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        PlayerRegistry playerRegistry = new PlayerRegistry();
+        playerRegistry.register(player);
+
+        ScoreboardStats plugin = PowerMockito.mock(ScoreboardStats.class);
+        PowerMockito.when(plugin.getLogger()).thenReturn(Logger.getGlobal());
+        PowerMockito.when(plugin.getScheduler()).thenReturn(scheduler);
+        PowerMockito.when(plugin.getPlayerRegistry()).thenReturn(playerRegistry);
+
+        SbManager sbManager = Mockito.mock(SbManager.class);
+        ReplaceManager replaceManager = new ReplaceManager(sbManager, plugin);
+        PowerMockito.when(plugin.getReplaceManager()).thenReturn(replaceManager);
+
+        AtomicInteger replaces = new AtomicInteger();
+        VariableReplacer replacer = (eventPlayer, variable, replaceEvent) -> {
+            replaces.incrementAndGet();
+            replaceEvent.setScore(replaces.get());
+        };
+
+        EventVariableExecutor executor = new EventVariableExecutor(plugin, replacer, VARIABLE, WINDOW);
+
+        PlayerEvent event = new PlayerEvent(player) {
+
+            @Override
+            public HandlerList getHandlers() {
+                return null;
+            }
+        };
+
+        //a burst over a few ticks is merged, because every event postpones the update
+        int burstTicks = WINDOW * EventUpdateQueue.MAX_WINDOWS / 2;
+        for (int tick = 0; tick < burstTicks; tick++) {
+            for (int i = 0; i < EVENTS / burstTicks; i++) {
+                executor.execute(null, event);
+            }
+
+            replaceManager.flushEvents();
+            Assert.assertEquals("The update should wait for the end of the burst", 0, replaces.get());
+        }
+
+        //the last events were queued a window before this drain
+        for (int tick = 2; tick < WINDOW; tick++) {
+            replaceManager.flushEvents();
+        }
+
+        Assert.assertEquals(0, replaces.get());
+        replaceManager.flushEvents();
+        Assert.assertEquals("The update should run one window after the burst", 1, replaces.get());
+        Mockito.verify(sbManager, Mockito.times(1)).update(Matchers.eq(player), Matchers.anyString(), Matchers.eq(1));
+
+        //a steady stream of events still updates after the maximum delay
+        int ticks = 0;
+        while (replaces.get() == 1) {
+            executor.execute(null, event);
+            replaceManager.flushEvents();
+            ticks++;
+            Assert.assertTrue("The update shouldn't be postponed forever"
+                    , ticks <= WINDOW * EventUpdateQueue.MAX_WINDOWS);
+        }
+
+        Assert.assertEquals(WINDOW * EventUpdateQueue.MAX_WINDOWS, ticks);
+        Assert.assertEquals(2, replaces.get());
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.games647.scoreboardstats.variables;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the parsing and evaluation of derived variables
+ *
+ * @see ExpressionParser
+ */
+public class ExpressionParserTest {
+
+    @Test
+    public void testPrecedence() {
+        CompiledExpression expression = ExpressionParser.compile("2 + 3 * 4 - (1 + 1) * -2");
+        Assert.assertEquals(0, expression.getInputCount());
+        Assert.assertEquals(18, expression.evaluate(new long[0]));
+    }
+
+    @Test
+    public void testInputs() {
+        CompiledExpression expression = ExpressionParser.compile("Kills * 100 / max(deaths, 1) + kills % 3");
+        Assert.assertEquals(Arrays.asList("kills", "deaths"), expression.getInputs());
+        Assert.assertEquals(250 + 1, expression.evaluate(new long[]{10, 4}));
+        Assert.assertEquals("Division by the max value", 1000 + 1, expression.evaluate(new long[]{10, 0}));
+    }
+
+    @Test
+    public void testIdentifiers() {
+        CompiledExpression expression = ExpressionParser.compile("abs(%bungee-online% - min(5, 7, 6))");
+        Assert.assertEquals(Arrays.asList("bungee-online"), expression.getInputs());
+        Assert.assertEquals(3, expression.evaluate(new long[]{2}));
+    }
+
+    @Test
+    public void testDivisionByZero() {
+        CompiledExpression expression = ExpressionParser.compile("kills / deaths");
+        Assert.assertEquals(0, expression.evaluate(new long[]{5, 0}));
+    }
+
+    @Test
+    public void testOverflow() {
+        CompiledExpression expression = ExpressionParser.compile("money * 1000");
+        Assert.assertEquals(Integer.MAX_VALUE, expression.evaluate(new long[]{Integer.MAX_VALUE}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalid() {
+        ExpressionParser.compile("kills * (deaths");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownFunction() {
+        ExpressionParser.compile("sqrt(kills)");
+    }
+}
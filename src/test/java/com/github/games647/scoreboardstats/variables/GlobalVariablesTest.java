@@ -0,0 +1,114 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.github.games647.scoreboardstats.PlayerRegistry;
+import com.github.games647.scoreboardstats.SbManager;
+import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Settings;
+import com.github.games647.scoreboardstats.config.SidebarConfig;
+import com.github.games647.scoreboardstats.scheduler.PluginScheduler;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.plugin.messaging.StandardMessenger;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+/**
+ * Tests that global variables are only replaced once and then sent to all players
+ */
+@PrepareForTest({Bukkit.class, SimplePluginManager.class, Plugin.class, ScoreboardStats.class})
+@RunWith(PowerMockRunner.class)
+public class GlobalVariablesTest {
+
+    private static final int PLAYERS = 5;
+    private static final int GLOBALS = 3;
+
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", (SidebarConfig) null);
+    }
+
+    @Test
+    public void testBroadcast() {
+        PowerMockito.mockStatic(Bukkit.class);
+        Mockito.when(Bukkit.getPluginManager()).thenReturn(PowerMockito.mock(SimplePluginManager.class));
+        Mockito.when(Bukkit.getMessenger()).thenReturn(PowerMockito.mock(StandardMessenger.class));
+        Mockito.when(Bukkit.getScheduler()).thenReturn(PowerMockito.mock(BukkitScheduler.class));
+
+        SidebarConfig sidebarConfig = new SidebarConfig("Stats");
+        for (int i = 0; i < GLOBALS; i++) {
+            sidebarConfig.addVariableItem(false, "global_" + i, "Global " + i, 0);
+        }
+
+        Whitebox.setInternalState(Settings.class, "mainScoreboard", sidebarConfig);
+
+        PlayerRegistry playerRegistry = new PlayerRegistry();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = Mockito.mock(Player.class);
+            Mockito.when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+            Mockito.when(player.isOnline()).thenReturn(true);
+            playerRegistry.register(player);
+        }
+
+        PluginScheduler scheduler = Mockito.mock(PluginScheduler.class);
+        Mockito.when(scheduler.isOwner(Matchers.any(Player.class))).thenReturn(true);
+
+        ScoreboardStats plugin = PowerMockito.mock(ScoreboardStats.class);
+        PowerMockito.when(plugin.getLogger()).thenReturn(Logger.getGlobal());
+        PowerMockito.when(plugin.getPlayerRegistry()).thenReturn(playerRegistry);
+        PowerMockito.when(plugin.getScheduler()).thenReturn(scheduler);
+
+        SbManager sbManager = Mockito.mock(SbManager.class);
+        ReplaceManager replaceManager = new ReplaceManager(sbManager, plugin);
+
+        AtomicInteger replaces = new AtomicInteger();
+        AtomicInteger value = new AtomicInteger(1);
+        for (int i = 0; i < GLOBALS; i++) {
+            replaceManager.register(new VariableReplaceAdapter<Plugin>(plugin, "", true, false, false, "global_" + i) {
+
+                @Override
+                public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
+                    replaces.incrementAndGet();
+                    replaceEvent.setScore(value.get());
+                }
+            });
+        }
+
+        replaceManager.updateGlobals();
+        Assert.assertEquals("Every global should be replaced once", GLOBALS, replaces.get());
+        Mockito.verify(sbManager, Mockito.times(PLAYERS * GLOBALS))
+                .update(Matchers.any(Player.class), Matchers.anyString(), Matchers.eq(1));
+
+        //unchanged values don't have to be sent again
+        replaceManager.updateGlobals();
+        Assert.assertEquals(GLOBALS * 2, replaces.get());
+        Mockito.verify(sbManager, Mockito.times(PLAYERS * GLOBALS))
+                .update(Matchers.any(Player.class), Matchers.anyString(), Matchers.anyInt());
+
+        value.set(2);
+        replaceManager.updateGlobals();
+        Assert.assertEquals(GLOBALS * 3, replaces.get());
+        Mockito.verify(sbManager, Mockito.times(PLAYERS * GLOBALS))
+                .update(Matchers.any(Player.class), Matchers.anyString(), Matchers.eq(2));
+        //one send per player and changed value
+        Mockito.verify(sbManager, Mockito.times(2 * PLAYERS * GLOBALS))
+                .update(Matchers.any(Player.class), Matchers.anyString(), Matchers.anyInt());
+        Mockito.verify(scheduler, Mockito.never()).runForPlayer(Matchers.any(Player.class)
+                , Matchers.any(Runnable.class));
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.games647.scoreboardstats.variables;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the parsing of scores from texts of other plugins
+ *
+ * @see NumberParser
+ */
+public class NumberParserTest {
+
+    private static final String COLOR = "\u00A7";
+
+    @Test
+    public void testNumbers() {
+        Assert.assertEquals(42, NumberParser.parse("42"));
+        Assert.assertEquals(-42, NumberParser.parse("-42"));
+        Assert.assertEquals(12, NumberParser.parse("12.75"));
+        Assert.assertEquals(7, NumberParser.parse("  7 "));
+    }
+
+    @Test
+    public void testColorsAndSeparators() {
+        Assert.assertEquals(1234567, NumberParser.parse(COLOR + "a1,234,567"));
+        Assert.assertEquals(1000, NumberParser.parse("1" + COLOR + "e_000" + COLOR + "r"));
+        Assert.assertEquals(5000, NumberParser.parse(COLOR + "65 000" + COLOR + "r"));
+        Assert.assertEquals(1500, NumberParser.parse("1'500.5"));
+    }
+
+    @Test
+    public void testInvalid() {
+        Assert.assertEquals(NumberParser.NOT_A_NUMBER, NumberParser.parse("Admin"));
+        Assert.assertEquals(NumberParser.NOT_A_NUMBER, NumberParser.parse("%vault_eco_balance%"));
+        Assert.assertEquals(NumberParser.NOT_A_NUMBER, NumberParser.parse("1,"));
+        Assert.assertEquals(NumberParser.NOT_A_NUMBER, NumberParser.parse(""));
+        Assert.assertEquals(NumberParser.NOT_A_NUMBER, NumberParser.parse(null));
+        Assert.assertEquals(-1, NumberParser.parseInt("Level 5", -1));
+    }
+
+    @Test
+    public void testClamp() {
+        Assert.assertEquals(Integer.MAX_VALUE, NumberParser.parseInt("99999999999999999999999", 0));
+        Assert.assertEquals(Integer.MIN_VALUE, NumberParser.parseInt("-3000000000", 0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.games647.scoreboardstats.variables;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the resolution of wildcard variables
+ *
+ * @see PrefixIndex
+ */
+public class PrefixIndexTest {
+
+    @Test
+    public void testPrefix() {
+        Assert.assertEquals("meta_", PrefixIndex.getPrefix("meta_*"));
+        Assert.assertEquals("health", PrefixIndex.getPrefix("health"));
+    }
+
+    @Test
+    public void testLongestPrefix() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("player_", "player");
+        index.put("player_info_", "info");
+
+        Assert.assertEquals("player", index.find("player_kills"));
+        Assert.assertEquals("info", index.find("player_info_rank"));
+        Assert.assertNull(index.find("play"));
+        Assert.assertNull(index.find("bungee_lobby"));
+    }
+
+    @Test
+    public void testAmbiguous() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        Assert.assertNull(index.put("bungee_", "first"));
+        Assert.assertEquals("first", index.put("bungee_", "second"));
+        Assert.assertEquals("second", index.find("bungee_lobby"));
+    }
+
+    @Test
+    public void testOverlapping() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("player_", "player");
+        index.put("player_info_", "info");
+        index.put("bungee_", "bungee");
+
+        Assert.assertEquals(ImmutableMap.of("player_", "player", "player_info_", "info")
+                , index.getOverlapping("player_i"));
+        Assert.assertEquals(ImmutableMap.of("player_info_", "info"), index.getOverlapping("player_"));
+        Assert.assertTrue(index.getOverlapping("bungee_lobby_").containsKey("bungee_"));
+        Assert.assertTrue(index.getOverlapping("meta_").isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("player_", "player");
+        index.put("player_info_", "info");
+
+        Assert.assertTrue(index.removeIf("info"::equals));
+        Assert.assertFalse(index.removeIf("info"::equals));
+        Assert.assertEquals("player", index.find("player_info_rank"));
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.games647.scoreboardstats.variables;
 
 import com.github.games647.scoreboardstats.ScoreboardStats;
+import com.github.games647.scoreboardstats.config.Settings;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
@@ -10,6 +13,7 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.SimplePluginManager;
 import org.bukkit.plugin.messaging.StandardMessenger;
 import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,6 +21,7 @@ import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 @PrepareForTest({Bukkit.class, SimplePluginManager.class, Plugin.class, ScoreboardStats.class})
 @RunWith(PowerMockRunner.class)
@@ -24,6 +29,11 @@ public class ReplaceManagerTest {
 
     private static final String SAMPLE_VARIABLE = "sample";
 
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(Settings.class, "replacerErrorRate", 0);
+    }
+
     @Test
     public void testUnregister() throws Exception {
         PowerMockito.mockStatic(Bukkit.class);
@@ -40,6 +50,105 @@ public class ReplaceManagerTest {
         testAbstract(plugin, replaceManager);
     }
 
+    @Test
+    public void testWildcardRecovers() throws Exception {
+        Whitebox.setInternalState(Settings.class, "replacerErrorRate", 50);
+
+        PowerMockito.mockStatic(Bukkit.class);
+        Mockito.when(Bukkit.getPluginManager()).thenReturn(PowerMockito.mock(SimplePluginManager.class));
+        Mockito.when(Bukkit.getMessenger()).thenReturn(PowerMockito.mock(StandardMessenger.class));
+        Mockito.when(Bukkit.getScheduler()).thenReturn(PowerMockito.mock(BukkitScheduler.class));
+
+        ScoreboardStats plugin = PowerMockito.mock(ScoreboardStats.class);
+        PowerMockito.when(plugin.getLogger()).thenReturn(Logger.getGlobal());
+
+        ReplaceManager replaceManager = new ReplaceManager(null, plugin);
+
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger calls = new AtomicInteger();
+        VariableReplaceAdapter<?> wildcard = new VariableReplaceAdapter<Plugin>(plugin, "wild_*") {
+
+            @Override
+            public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
+                calls.incrementAndGet();
+                if (failing.get()) {
+                    throw new IllegalStateException("Expected failure");
+                }
+
+                replaceEvent.setScore(5);
+            }
+        };
+
+        replaceManager.register(wildcard);
+
+        //a single failure keeps the replacer
+        Assert.assertFalse(replaceManager.getScore(null, "wild_a", "", 0, true).isModified());
+        Assert.assertSame(wildcard, replaceManager.getWildcards().find("wild_a"));
+
+        failing.set(false);
+        Assert.assertEquals(5, replaceManager.getScore(null, "wild_a", "", 0, true).getScore());
+        Assert.assertEquals(2, calls.get());
+
+        //enough failures open the circuit
+        failing.set(true);
+        for (int i = 0; i < 20; i++) {
+            replaceManager.getScore(null, "wild_b", "", 0, true);
+        }
+
+        ReplacerHealth health = replaceManager.getReplacerHealth().get(0);
+        Assert.assertTrue(health.isOpen());
+
+        int openCalls = calls.get();
+        //a new scoreboard gets the last known score instead of a missing line
+        ReplaceEvent openEvent = replaceManager.getScore(null, "wild_b", "", 3, true);
+        Assert.assertEquals(openCalls, calls.get());
+        Assert.assertTrue(openEvent.isModified());
+        Assert.assertEquals(3, openEvent.getScore());
+
+        //after the cool-down it's used again
+        Whitebox.setInternalState(health, "retryAt", System.nanoTime());
+        failing.set(false);
+        Assert.assertEquals(5, replaceManager.getScore(null, "wild_b", "", 0, true).getScore());
+        Assert.assertEquals(openCalls + 1, calls.get());
+        Assert.assertFalse(health.isOpen());
+    }
+
+    @Test
+    public void testUndeclaredWildcardVariable() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        Mockito.when(Bukkit.getPluginManager()).thenReturn(PowerMockito.mock(SimplePluginManager.class));
+        Mockito.when(Bukkit.getMessenger()).thenReturn(PowerMockito.mock(StandardMessenger.class));
+        Mockito.when(Bukkit.getScheduler()).thenReturn(PowerMockito.mock(BukkitScheduler.class));
+
+        ScoreboardStats plugin = PowerMockito.mock(ScoreboardStats.class);
+        PowerMockito.when(plugin.getLogger()).thenReturn(Logger.getGlobal());
+
+        ReplaceManager replaceManager = new ReplaceManager(null, plugin);
+
+        //like the meta_* variables and the undeclared ones of the bukkit variables
+        VariableReplaceAdapter<?> wildcard = new VariableReplaceAdapter<Plugin>(plugin, "wild_*") {
+
+            @Override
+            public void onReplace(Player player, String variable, ReplaceEvent replaceEvent) {
+                if ("undeclared".equals(variable)) {
+                    replaceEvent.setScore(7);
+                }
+            }
+        };
+
+        replaceManager.register(wildcard);
+
+        Assert.assertEquals(7, replaceManager.getScore(null, "undeclared", "", 0, true).getScore());
+        Assert.assertSame(wildcard, replaceManager.getReplacers().get("undeclared"));
+
+        try {
+            replaceManager.getScore(null, "missing", "", 0, true);
+            Assert.fail("The variable isn't handled by any replacer");
+        } catch (UnknownVariableException unknownEx) {
+            //expected
+        }
+    }
+
     private void testAbstract(Plugin plugin, ReplaceManager replaceManager) {
         VariableReplaceAdapter<?> replaceAdapter = new VariableReplaceAdapter<Plugin>(plugin, SAMPLE_VARIABLE) {
 